@@ -12,6 +12,7 @@ plugins {
     id("com.github.ben-manes.versions") version "0.52.0"
     id("org.sonarqube") version "6.3.1.5724"
     id("io.sentry.jvm.gradle") version "5.12.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "hexlet.code"
@@ -45,6 +46,8 @@ dependencies {
     //Библиотеки для авторизации
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
+    // Подпись и проверка Ed25519 в Nimbus JOSE
+    implementation("com.google.crypto.tink:tink:1.17.0")
     testImplementation("org.springframework.security:spring-security-test")
 
     // Для удобной работы с экземплярами моделей при тестировании
@@ -56,6 +59,18 @@ dependencies {
     runtimeOnly("com.h2database:h2:2.3.232")
     //postgresql
     runtimeOnly("org.postgresql:postgresql:42.7.7")
+    // Версионные миграции схемы
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-database-postgresql")
+
+    // Кэш справочников и его метрики
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    // Метрики: таймеры сервисов (@Timed), статистика Hibernate, выдача для Prometheus
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     implementation("com.fasterxml.jackson.core:jackson-databind:2.20.0")
 
@@ -84,10 +99,28 @@ dependencies {
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     // Библиотека для проверки содержания ответа в тестах
     testImplementation("net.javacrumbs.json-unit:json-unit-assertj:4.1.0")
+
+    // Бенчмарк вставок работает с базой напрямую через JDBC
+    jmh("com.h2database:h2:2.3.232")
+    jmh("org.postgresql:postgresql:42.7.7")
+}
+
+// Микробенчмарки (src/jmh/java): ./gradlew jmh, один класс - ./gradlew jmh -PjmhIncludes=PasswordEncoderBenchmark.
+// Полный вывод JMH остается в build/results/jmh/results.txt
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    includes.set(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf()))
 }
 
 tasks.jacocoTestReport { reports { xml.required.set(true) } }
 
+// Печатает стек, если виртуальный поток закрепился на носителе (блокировка внутри synchronized)
+tasks.bootRun {
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+}
+
 tasks.test {
     useJUnitPlatform()
     finalizedBy(tasks.jacocoTestReport) // report is always generated after tests run
@@ -0,0 +1,69 @@
+// Нагрузка на GET /api/tasks для сравнения пула платформенных потоков Tomcat с виртуальными потоками.
+// Приложение запускается дважды с одной и той же базой, меняется только VIRTUAL_THREADS_ENABLED:
+//
+//   VIRTUAL_THREADS_ENABLED=false ./gradlew bootRun   # затем: make load-test THREADS=platform
+//   VIRTUAL_THREADS_ENABLED=true ./gradlew bootRun    # затем: make load-test THREADS=virtual
+//
+// Ожидание JDBC заметно только на настоящей базе, поэтому сравнивать стоит с PostgreSQL (профиль production,
+// JDBC_DATABASE_URL), а не с H2 в памяти. Параметры: BASE_URL, VUS (по умолчанию 400 - больше 200 потоков
+// Tomcat по умолчанию), DURATION, SEED_TASKS. Итог k6 (http_reqs/s, http_req_duration p95/p99) сохраняется
+// в load/tasks-index-<THREADS>.json.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8080';
+const seedTasks = Number(__ENV.SEED_TASKS || 5000);
+const batchSize = 500; // TaskBatchService.MAX_BATCH_SIZE
+
+export const options = {
+  scenarios: {
+    index: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 400),
+      duration: __ENV.DURATION || '2m',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const login = http.post(`${baseUrl}/api/login`,
+    JSON.stringify({ username: 'hexlet@example.com', password: 'qwerty' }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(login, { 'login 200': (r) => r.status === 200 });
+  const headers = { Authorization: `Bearer ${login.body}`, 'Content-Type': 'application/json' };
+  // Статусы по умолчанию профиль production не создает; повторный запуск получит конфликт и использует этот же
+  http.post(`${baseUrl}/api/task_statuses`, JSON.stringify({ name: 'load', slug: 'load' }), { headers });
+
+  const existing = Number(http.get(`${baseUrl}/api/tasks?_start=0&_end=1`, { headers }).headers['X-Total-Count']);
+  for (let created = existing; created < seedTasks; created += batchSize) {
+    const batch = [];
+    for (let i = 0; i < Math.min(batchSize, seedTasks - created); i++) {
+      batch.push({ title: `Load task ${created + i}`, status: 'load' });
+    }
+    http.post(`${baseUrl}/api/tasks/batch`, JSON.stringify(batch), { headers, timeout: '120s' });
+  }
+  return { headers };
+}
+
+// Первая страница без фильтров и страница с поиском по тексту (COUNT по задачам, а не счетчик)
+export default function (data) {
+  const page = http.get(`${baseUrl}/api/tasks?_start=0&_end=25&_sort=id&_order=DESC`,
+    { headers: data.headers, tags: { name: 'index' } });
+  check(page, { 'index 200': (r) => r.status === 200 });
+
+  const search = http.get(`${baseUrl}/api/tasks?_start=0&_end=25&titleCont=task%204`,
+    { headers: data.headers, tags: { name: 'search' } });
+  check(search, { 'search 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  const tag = __ENV.THREADS || 'run';
+  return {
+    [`load/tasks-index-${tag}.json`]: JSON.stringify(data, null, 2),
+    stdout: `${tag}: ${data.metrics.http_reqs.values.rate.toFixed(1)} req/s, `
+      + `p95 ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)} ms, `
+      + `p99 ${data.metrics.http_req_duration.values['p(99)'].toFixed(1)} ms, `
+      + `failed ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+  };
+}
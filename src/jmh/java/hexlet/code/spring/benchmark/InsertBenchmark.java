@@ -0,0 +1,116 @@
+package hexlet.code.spring.benchmark;
+
+import hexlet.code.spring.model.IdGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставки в секунду при IDENTITY (до перехода на последовательности: по оператору и возврату ключа
+ * на строку) и при id из последовательности пулами по IdGeneration.ALLOCATION_SIZE с JDBC-пакетами
+ * того же размера (как Hibernate с hibernate.jdbc.batch_size). По умолчанию - H2 в памяти; разница
+ * заметнее на PostgreSQL по сети: -Dbenchmark.jdbc.url=jdbc:postgresql://...
+ * (и benchmark.jdbc.user / benchmark.jdbc.password).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InsertBenchmark {
+    private static final int ROWS = 1000;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.jdbc.user", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_sequence");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_seq");
+            statement.execute("CREATE TABLE bench_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE TABLE bench_sequence (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+            statement.execute(String.format("CREATE SEQUENCE bench_seq START WITH %1$s INCREMENT BY %1$s",
+                    IdGeneration.ALLOCATION_SIZE));
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DELETE FROM bench_identity");
+            statement.execute("DELETE FROM bench_sequence");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identityInserts() throws SQLException {
+        try (var insert = connection.prepareStatement("INSERT INTO bench_identity (name) VALUES (?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (var i = 0; i < ROWS; i++) {
+                insert.setString(1, "task " + i);
+                insert.executeUpdate();
+                try (var keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void sequenceBatchInserts() throws SQLException {
+        try (var nextval = connection.prepareStatement(nextvalQuery());
+             var insert = connection.prepareStatement("INSERT INTO bench_sequence (id, name) VALUES (?, ?)")) {
+            long nextId = 0;
+            long poolEnd = 0;
+            for (var i = 0; i < ROWS; i++) {
+                if (nextId >= poolEnd) {
+                    try (var result = nextval.executeQuery()) {
+                        result.next();
+                        poolEnd = result.getLong(1);
+                        nextId = poolEnd - IdGeneration.ALLOCATION_SIZE;
+                    }
+                }
+                insert.setLong(1, ++nextId);
+                insert.setString(2, "task " + i);
+                insert.addBatch();
+                if ((i + 1) % IdGeneration.ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private String nextvalQuery() throws SQLException {
+        var product = connection.getMetaData().getDatabaseProductName();
+        return "PostgreSQL".equals(product) ? "SELECT nextval('bench_seq')" : "SELECT NEXT VALUE FOR bench_seq";
+    }
+}
@@ -0,0 +1,75 @@
+package hexlet.code.spring.benchmark;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import hexlet.code.spring.component.CachingJwtDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка одного и того же токена: NimbusJwtDecoder (разбор и проверка подписи RSA на каждый вызов)
+ * против CachingJwtDecoder с уже проверенным токеном.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtDecoderBenchmark {
+    private static final int KEY_SIZE = 2048;
+
+    private JwtDecoder cold;
+    private JwtDecoder cached;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        var keyPair = generator.generateKeyPair();
+        var publicKey = (RSAPublicKey) keyPair.getPublic();
+        var jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        var encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .subject("benchmark@example.com")
+                .build();
+        token = encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+
+        cold = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        cached = new CachingJwtDecoder(cold, new ConcurrentMapCache("jwts"));
+        cached.decode(token);
+    }
+
+    @Benchmark
+    public Jwt coldDecode() {
+        return cold.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedDecode() {
+        return cached.decode(token);
+    }
+}
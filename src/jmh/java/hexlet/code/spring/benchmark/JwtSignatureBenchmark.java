@@ -0,0 +1,87 @@
+package hexlet.code.spring.benchmark;
+
+import hexlet.code.spring.component.JwtKeyProperties.KeyType;
+import hexlet.code.spring.util.JwtKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость подписи и проверки JWT для каждого поддерживаемого типа ключа
+ * (RS256 с ключом 2048 бит, ES256, EdDSA/Ed25519). Проверка идёт без CachingJwtDecoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtSignatureBenchmark {
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Param({"RSA", "EC", "ED25519"})
+    @SuppressWarnings("checkstyle:VisibilityModifier")
+    public KeyType type;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        var generator = switch (type) {
+            case RSA -> {
+                var rsa = KeyPairGenerator.getInstance("RSA");
+                rsa.initialize(RSA_KEY_SIZE);
+                yield rsa;
+            }
+            case EC -> {
+                var ec = KeyPairGenerator.getInstance("EC");
+                ec.initialize(new ECGenParameterSpec("secp256r1"));
+                yield ec;
+            }
+            case ED25519 -> KeyPairGenerator.getInstance("Ed25519");
+        };
+        var keyPair = generator.generateKeyPair();
+        var jwk = JwtKeys.toJwk("benchmark", type, keyPair.getPublic(), keyPair.getPrivate());
+        encoder = JwtKeys.encoder(jwk);
+        decoder = JwtKeys.decoder(List.of(jwk));
+
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .subject("benchmark@example.com")
+                .build();
+        var header = JwsHeader.with(JwtKeys.algorithm(type)).keyId("benchmark").build();
+        parameters = JwtEncoderParameters.from(header, claims);
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt sign() {
+        return encoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
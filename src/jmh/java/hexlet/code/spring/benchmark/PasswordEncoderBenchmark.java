@@ -0,0 +1,50 @@
+package hexlet.code.spring.benchmark;
+
+import hexlet.code.spring.component.CachingPasswordEncoder;
+import hexlet.code.spring.component.VerifiedCredentialCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пароля при повторном запросе HTTP Basic: BCrypt по умолчанию против CachingPasswordEncoder
+ * с уже проверенным паролем.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordEncoderBenchmark {
+    private static final String PASSWORD = "qwerty";
+
+    private PasswordEncoder bcrypt;
+    private PasswordEncoder caching;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        encodedPassword = bcrypt.encode(PASSWORD);
+        var verifiedCredentials = new VerifiedCredentialCache(new ConcurrentMapCache("verifiedCredentials"));
+        caching = new CachingPasswordEncoder(bcrypt, verifiedCredentials);
+        caching.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedMatches() {
+        return caching.matches(PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,30 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+@Setter
+@Getter
+public class AppCacheProperties {
+    // Статусы задач и метки: маленький, редко меняющийся справочник
+    private Spec referenceData = new Spec();
+    // Аутентифицированные пользователи по email: короткий TTL страхует от изменений в обход UserService
+    private Spec principals = new Spec();
+    // Проверенные пароли HTTP Basic: HMAC вместо повторного BCrypt
+    private Spec verifiedCredentials = new Spec();
+    // Проверенные JWT: запись живёт до exp токена, но не дольше expireAfterWrite
+    private Spec jwts = new Spec();
+
+    @Setter
+    @Getter
+    public static class Spec {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+    }
+}
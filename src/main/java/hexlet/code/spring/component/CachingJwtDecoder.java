@@ -0,0 +1,71 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.util.JwtKeys;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Кэширует проверенные токены по SHA-256 от их текста, чтобы повторные запросы с тем же токеном
+ * не разбирали его заново и не проверяли подпись. Срок жизни записи ограничен exp токена
+ * (см. CacheConfig), и при попадании exp сверяется ещё раз по тем же часам и с тем же допуском
+ * расхождения, что у JwtTimestampValidator делегата, так что из кэша возвращается ровно то, что принял бы
+ * делегат; токены, не прошедшие проверку, не кэшируются.
+ */
+public final class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache cache;
+    private final Clock clock;
+    private final Duration clockSkew;
+
+    public CachingJwtDecoder(@NonNull final JwtDecoder delegateD, @NonNull final Cache cacheD) {
+        this(delegateD, cacheD, Clock.systemUTC(), JwtKeys.CLOCK_SKEW);
+    }
+
+    public CachingJwtDecoder(@NonNull final JwtDecoder delegateD, @NonNull final Cache cacheD,
+                             @NonNull final Clock clockD, @NonNull final Duration clockSkewD) {
+        this.delegate = delegateD;
+        this.cache = cacheD;
+        this.clock = clockD;
+        this.clockSkew = clockSkewD;
+    }
+
+    @Override
+    public Jwt decode(final String token) throws JwtException {
+        var key = hash(token);
+        var jwt = cache.get(key, Jwt.class);
+        if (jwt != null && isExpired(jwt)) {
+            cache.evict(key);
+            jwt = null;
+        }
+        if (jwt == null) {
+            jwt = delegate.decode(token);
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private boolean isExpired(final Jwt jwt) {
+        var expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && clock.instant().minus(clockSkew).isAfter(expiresAt);
+    }
+
+    private static String hash(final String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package hexlet.code.spring.component;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Обёртка над PasswordEncoder для DaoAuthenticationProvider: повторная проверка того же пароля
+ * сверяется с VerifiedCredentialCache вместо BCrypt. В кэш попадают только успешные проверки.
+ */
+@RequiredArgsConstructor
+public final class CachingPasswordEncoder implements PasswordEncoder {
+
+    @NonNull private final PasswordEncoder delegate;
+    @NonNull private final VerifiedCredentialCache verifiedCredentials;
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        if (verifiedCredentials.isVerified(rawPassword, encodedPassword)) {
+            return true;
+        }
+        var matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verifiedCredentials.markVerified(rawPassword, encodedPassword);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
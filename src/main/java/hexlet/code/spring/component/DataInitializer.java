@@ -13,6 +13,7 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -48,12 +49,15 @@ public final class DataInitializer implements ApplicationRunner {
 
     private void taskStatusInit() {
         List<String> list = Arrays.asList("draft", "to_review", "to_be_fixed", "to_publish", "published");
+        List<TaskStatus> taskStatuses = new ArrayList<>();
         for (String elem : list) {
             var taskStatus = new TaskStatus();
             taskStatus.setName(elem);
             taskStatus.setSlug(elem);
-            taskStatusRepository.save(taskStatus);
+            taskStatuses.add(taskStatus);
         }
+        // Одна транзакция и один пакет INSERT вместо отдельного запроса на каждый статус
+        taskStatusRepository.saveAll(taskStatuses);
     }
 
     private void labelInit() {
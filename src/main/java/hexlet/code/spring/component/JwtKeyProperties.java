@@ -0,0 +1,44 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ключи подписи JWT. Новые токены подписываются ключом activeKeyId, остальные ключи списка
+ * только проверяют ранее выданные токены: при ротации новый ключ добавляется и делается активным,
+ * а старый удаляется после истечения выданных им токенов.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.jwt")
+@Setter
+@Getter
+public class JwtKeyProperties {
+    private String activeKeyId;
+    private List<Key> keys = new ArrayList<>();
+
+    public Key findActiveKey() {
+        return keys.stream().filter(key -> key.getKid().equals(activeKeyId)).findFirst()
+                .orElseThrow(() -> new IllegalStateException(String.format("Активный ключ JWT = %s не найден",
+                        activeKeyId)));
+    }
+
+    public enum KeyType {
+        RSA, EC, ED25519
+    }
+
+    @Setter
+    @Getter
+    public static class Key {
+        private String kid;
+        private KeyType type;
+        // PEM: X.509 SubjectPublicKeyInfo и PKCS#8. Закрытый ключ нужен только активному ключу
+        private Resource publicKey;
+        private Resource privateKey;
+    }
+}
@@ -0,0 +1,17 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.password")
+@Setter
+@Getter
+public class PasswordHashProperties {
+    // Алгоритм для новых хэшей: bcrypt или pbkdf2. Хэши других алгоритмов продолжают проверяться
+    private String algorithm;
+    private int bcryptStrength;
+    private int pbkdf2Iterations;
+}
@@ -0,0 +1,110 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.config.CacheConfig;
+import hexlet.code.spring.model.Label;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.repository.LabelRepository;
+import hexlet.code.spring.repository.TaskStatusRepository;
+import hexlet.code.spring.util.AfterCommit;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Кэш справочников перед TaskStatusRepository и LabelRepository. Хранятся только идентификаторы: id статуса
+ * по slug и id существующих меток, сами сущности вызывающий получает ссылками getReferenceById в своем
+ * контексте персистентности, поэтому между потоками и сессиями ничего изменяемого не разделяется.
+ * Сервисы, изменяющие статусы и метки, сбрасывают кэш после коммита своей транзакции.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    @NonNull private final TaskStatusRepository taskStatusRepository;
+    @NonNull private final LabelRepository labelRepository;
+    @NonNull private final CacheManager cacheManager;
+
+    // Отсутствующий slug тоже кэшируется: создание статуса сбрасывает кэш. Загрузка не через get(key, loader):
+    // Caffeine выполняет загрузчик внутри synchronized, и запрос к базе закрепил бы виртуальный поток на носителе
+    public Optional<TaskStatus> findTaskStatusBySlug(final String slug) {
+        var cache = cache(CacheConfig.TASK_STATUSES_BY_SLUG);
+        var cached = cache.get(slug);
+        if (cached != null) {
+            return Optional.ofNullable((Long) cached.get()).map(taskStatusRepository::getReferenceById);
+        }
+        var taskStatus = taskStatusRepository.findBySlug(slug);
+        cache.put(slug, taskStatus.map(TaskStatus::getId).orElse(null));
+        return taskStatus;
+    }
+
+    // Промахи догружаются одним запросом и, как в findTaskStatusBySlug, кэшируются вместе с отсутствующими slug;
+    // ненайденные slug в результат не попадают
+    public Map<String, TaskStatus> findTaskStatusesBySlugs(final Collection<String> slugs) {
+        var cache = cache(CacheConfig.TASK_STATUSES_BY_SLUG);
+        Map<String, TaskStatus> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (var slug : slugs) {
+            var cached = cache.get(slug);
+            if (cached == null) {
+                missing.add(slug);
+            } else if (cached.get() != null) {
+                result.put(slug, taskStatusRepository.getReferenceById((Long) cached.get()));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            var notFound = new HashSet<>(missing);
+            for (var taskStatus : taskStatusRepository.findAllBySlugIn(missing)) {
+                cache.put(taskStatus.getSlug(), taskStatus.getId());
+                result.put(taskStatus.getSlug(), taskStatus);
+                notFound.remove(taskStatus.getSlug());
+            }
+            notFound.forEach(slug -> cache.put(slug, null));
+        }
+        return result;
+    }
+
+    // Промахи догружаются одним запросом; ненайденные id в результат не попадают
+    public List<Label> findLabelsByIds(final Collection<Long> ids) {
+        var cache = cache(CacheConfig.LABELS_BY_ID);
+        List<Label> result = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (var id : ids) {
+            if (cache.get(id) == null) {
+                missing.add(id);
+            } else {
+                result.add(labelRepository.getReferenceById(id));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (var label : labelRepository.findAllById(missing)) {
+                cache.put(label.getId(), label.getId());
+                result.add(label);
+            }
+        }
+        return result;
+    }
+
+    public void evictTaskStatuses() {
+        AfterCommit.run(cache(CacheConfig.TASK_STATUSES_BY_SLUG)::clear);
+    }
+
+    public void evictLabels() {
+        AfterCommit.run(cache(CacheConfig.LABELS_BY_ID)::clear);
+    }
+
+    private Cache cache(final String name) {
+        return cacheManager.getCache(name);
+    }
+}
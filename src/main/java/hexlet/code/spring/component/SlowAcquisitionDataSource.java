@@ -0,0 +1,88 @@
+package hexlet.code.spring.component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Пул HikariCP, который предупреждает о долгом получении соединения: время ожидания, состояние пула
+ * и метод, ради которого бралось соединение. Метод ищется по стеку только для медленных получений -
+ * ближайший прокси репозитория (TaskRepository.findById) или класс приложения (TaskService.getAll, если
+ * соединение берет открываемая им транзакция). Метрики самого пула публикует Actuator (hikaricp.*).
+ */
+@Slf4j
+public class SlowAcquisitionDataSource extends DelegatingDataSource {
+    private static final String APP_PACKAGE = "hexlet.code";
+
+    private final HikariDataSource pool;
+    private final long thresholdNanos;
+
+    public SlowAcquisitionDataSource(final HikariDataSource poolD, final Duration threshold) {
+        super(poolD);
+        this.pool = poolD;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var start = System.nanoTime();
+        var connection = super.getConnection();
+        check(System.nanoTime() - start);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        var start = System.nanoTime();
+        var connection = super.getConnection(username, password);
+        check(System.nanoTime() - start);
+        return connection;
+    }
+
+    private void check(final long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        var poolState = pool.getHikariPoolMXBean();
+        if (poolState == null) {
+            log.warn("Соединение получено за {} мс, вызов: {}", Duration.ofNanos(elapsedNanos).toMillis(), caller());
+            return;
+        }
+        log.warn("Соединение получено за {} мс, вызов: {}; пул {}: активных {}, свободных {}, ожидающих {}",
+                Duration.ofNanos(elapsedNanos).toMillis(), caller(), pool.getPoolName(),
+                poolState.getActiveConnections(), poolState.getIdleConnections(),
+                poolState.getThreadsAwaitingConnection());
+    }
+
+    private static String caller() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .map(SlowAcquisitionDataSource::describe)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("неизвестен"));
+    }
+
+    private static String describe(final StackWalker.StackFrame frame) {
+        var type = frame.getDeclaringClass();
+        if (Proxy.isProxyClass(type)) {
+            // Репозитории Spring Data - JDK-прокси своих интерфейсов
+            return Arrays.stream(type.getInterfaces())
+                    .filter(iface -> iface.getName().startsWith(APP_PACKAGE))
+                    .findFirst()
+                    .map(repository -> repository.getSimpleName() + "." + frame.getMethodName())
+                    .orElse(null);
+        }
+        if (type.getName().startsWith(APP_PACKAGE) && type != SlowAcquisitionDataSource.class) {
+            return ClassUtils.getUserClass(type).getSimpleName() + "." + frame.getMethodName();
+        }
+        return null;
+    }
+}
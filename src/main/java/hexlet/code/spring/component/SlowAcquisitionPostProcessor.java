@@ -0,0 +1,26 @@
+package hexlet.code.spring.component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// Пул по-прежнему создает автоконфигурация (spring.datasource.hikari.*), в контексте его заменяет обертка;
+// Actuator разворачивает ее и публикует метрики hikaricp.* для самого пула.
+// Настройки берутся лениво: постпроцессор создается раньше остальных бинов
+@Component
+@RequiredArgsConstructor
+public class SlowAcquisitionPostProcessor implements BeanPostProcessor {
+
+    @NonNull private final ObjectProvider<ConnectionPoolProperties> properties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            return new SlowAcquisitionDataSource(pool, properties.getObject().getSlowAcquisitionThreshold());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.spring.component;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Считает SQL-операторы каждого запроса. Превышение бюджета маршрута пишется в лог; при
+ * app.sql.response-headers количество и время в базе отдаются заголовками. Заголовки ставятся перед
+ * началом записи тела: у потоковых ответов (выгрузка задач) это число операторов на тот момент.
+ * Фильтр стоит первым, чтобы учитывать и запросы Spring Security.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @NonNull private final SqlBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        var stats = SqlStatementStats.start();
+        var countingResponse = new CountingResponse(response, stats);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            SqlStatementStats.stop();
+            if (!response.isCommitted()) {
+                countingResponse.writeHeaders();
+            }
+            checkBudget(request, stats);
+        }
+    }
+
+    private void checkBudget(final HttpServletRequest request, final SqlStatementStats stats) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var route = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        var budget = properties.getBudgets().getOrDefault(route, properties.getDefaultBudget());
+        if (stats.getStatements() > budget) {
+            log.warn("{} выполнил {} SQL-операторов при бюджете {} ({} мс в базе)", route, stats.getStatements(),
+                    budget, stats.getExecutionMillis());
+        }
+    }
+
+    private final class CountingResponse extends HttpServletResponseWrapper {
+        private final SqlStatementStats stats;
+        private boolean headersWritten;
+
+        CountingResponse(final HttpServletResponse response, final SqlStatementStats statsD) {
+            super(response);
+            this.stats = statsD;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        void writeHeaders() {
+            if (headersWritten || !properties.isResponseHeaders()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(stats.getExecutionMillis()));
+        }
+    }
+}
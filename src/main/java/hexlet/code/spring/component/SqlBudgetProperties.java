@@ -0,0 +1,22 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql")
+@Setter
+@Getter
+public class SqlBudgetProperties {
+    // Заголовки X-Sql-Statements и X-Sql-Time-Ms в ответах
+    private boolean responseHeaders;
+    // Бюджет SQL-операторов на запрос, если для маршрута не задан свой
+    private int defaultBudget;
+    // Ключ - метод и шаблон маршрута: "GET /api/tasks/{id}"
+    private Map<String, Integer> budgets = new HashMap<>();
+}
@@ -0,0 +1,12 @@
+package hexlet.code.spring.component;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Подключается через hibernate.session_factory.statement_inspector; SQL не меняет, только считает
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(final String sql) {
+        SqlStatementStats.onStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.spring.component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Количество SQL-операторов и время их выполнения в пределах одного HTTP-запроса. Учет ведется
+ * в потоке запроса между start() и stop(); операторы вне запроса и в других потоках не считаются.
+ * Значения пополняют SqlStatementInspector и SqlTimingListener, которых создает Hibernate.
+ */
+public final class SqlStatementStats {
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats start() {
+        var stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void onStatement() {
+        var stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void onExecution(final long nanos) {
+        var stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getExecutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(executionNanos);
+    }
+}
@@ -0,0 +1,29 @@
+package hexlet.code.spring.component;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Подключается через hibernate.session.events.auto: Hibernate создает экземпляр на каждую сессию
+public class SqlTimingListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.onExecution(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.onExecution(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,178 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.model.Label;
+import hexlet.code.spring.model.Task;
+import hexlet.code.spring.model.TaskCounterId.Dimension;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Переводит вставки, изменения и удаления задач в изменения TaskCounters для текущей транзакции сессии.
+ * Статус и исполнитель сравниваются по загруженному и новому состоянию сущности, метки - по снимку коллекции
+ * Task.labels.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCounterListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PreCollectionUpdateEventListener,
+        PreCollectionRemoveEventListener {
+    private static final String LABELS_ROLE = Task.class.getName() + ".labels";
+
+    @NonNull private final EntityManagerFactory entityManagerFactory;
+    @NonNull private final TaskCounters counters;
+
+    @PostConstruct
+    public void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        if (event.getEntity() instanceof Task task) {
+            var session = event.getSession();
+            counters.change(session, Dimension.TOTAL, 0L, 1);
+            counters.change(session, Dimension.STATUS, statusId(task.getTaskStatus()), 1);
+            counters.change(session, Dimension.ASSIGNEE, assigneeId(task.getAssignee()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Task) || event.getOldState() == null) {
+            return;
+        }
+        var session = event.getSession();
+        var status = propertyIndex(event.getPersister(), "taskStatus");
+        move(session, Dimension.STATUS, statusId(event.getOldState()[status]), statusId(event.getState()[status]));
+        var assignee = propertyIndex(event.getPersister(), "assignee");
+        move(session, Dimension.ASSIGNEE, assigneeId(event.getOldState()[assignee]),
+                assigneeId(event.getState()[assignee]));
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        if (event.getEntity() instanceof Task) {
+            var session = event.getSession();
+            var state = event.getDeletedState();
+            counters.change(session, Dimension.TOTAL, 0L, -1);
+            counters.change(session, Dimension.STATUS,
+                    statusId(state[propertyIndex(event.getPersister(), "taskStatus")]), -1);
+            counters.change(session, Dimension.ASSIGNEE,
+                    assigneeId(state[propertyIndex(event.getPersister(), "assignee")]), -1);
+        }
+    }
+
+    // Новая коллекция: вставка задачи или замена набора меток через setLabels
+    @Override
+    public void onPostRecreateCollection(final PostCollectionRecreateEvent event) {
+        if (isLabels(event)) {
+            labelIds((Collection<?>) event.getCollection())
+                    .forEach(id -> counters.change(event.getSession(), Dimension.LABEL, id, 1));
+        }
+    }
+
+    // Изменение набора на месте (addLabel): снимок - метки до изменения
+    @Override
+    public void onPreUpdateCollection(final PreCollectionUpdateEvent event) {
+        if (isLabels(event)) {
+            var session = event.getSession();
+            var before = labelIds(snapshot(event.getCollection()));
+            var after = labelIds((Collection<?>) event.getCollection());
+            before.stream().filter(id -> !after.contains(id))
+                    .forEach(id -> counters.change(session, Dimension.LABEL, id, -1));
+            after.stream().filter(id -> !before.contains(id))
+                    .forEach(id -> counters.change(session, Dimension.LABEL, id, 1));
+        }
+    }
+
+    // Удаление задачи или замененный набор; незагруженная коллекция догружается, как это делает Envers
+    @Override
+    public void onPreRemoveCollection(final PreCollectionRemoveEvent event) {
+        if (isLabels(event)) {
+            var collection = event.getCollection();
+            if (!collection.wasInitialized()) {
+                collection.forceInitialization();
+            }
+            labelIds(snapshot(collection)).forEach(id -> counters.change(event.getSession(), Dimension.LABEL, id, -1));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return false;
+    }
+
+    private void move(final EventSource session, final Dimension dimension, final Long from, final Long to) {
+        if (!Objects.equals(from, to)) {
+            counters.change(session, dimension, from, -1);
+            counters.change(session, dimension, to, 1);
+        }
+    }
+
+    private static boolean isLabels(final AbstractCollectionEvent event) {
+        return LABELS_ROLE.equals(event.getCollection().getRole());
+    }
+
+    private static Collection<?> snapshot(final PersistentCollection<?> collection) {
+        var snapshot = collection.getStoredSnapshot();
+        if (snapshot instanceof Map<?, ?> map) {
+            return map.values();
+        }
+        return snapshot == null ? List.of() : (Collection<?>) snapshot;
+    }
+
+    private static Set<Long> labelIds(final Collection<?> labels) {
+        return labels.stream().map(label -> ((Label) label).getId()).collect(Collectors.toSet());
+    }
+
+    private static int propertyIndex(final EntityPersister persister, final String property) {
+        return Arrays.asList(persister.getPropertyNames()).indexOf(property);
+    }
+
+    private static Long statusId(final Object taskStatus) {
+        return taskStatus == null ? null : ((TaskStatus) taskStatus).getId();
+    }
+
+    private static Long assigneeId(final Object assignee) {
+        return assignee == null ? null : ((User) assignee).getId();
+    }
+}
@@ -0,0 +1,146 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.dto.task.TaskParamsDTO;
+import hexlet.code.spring.model.TaskCounter;
+import hexlet.code.spring.model.TaskCounterId;
+import hexlet.code.spring.model.TaskCounterId.Dimension;
+import hexlet.code.spring.repository.TaskCounterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Количество задач всего и по каждому статусу, исполнителю и метке в таблице task_counters. Разницу собирает
+ * TaskCounterListener из событий Hibernate, поэтому учитываются любые записи задач через Hibernate, а не только
+ * через TaskService. Разница транзакции записывается в ту же транзакцию перед ее коммитом, после всех flush:
+ * при откате счетчики не меняются, а блокировки строк счетчиков держатся только на время коммита.
+ * Записи задач в обход Hibernate (JDBC, массовые JPQL/SQL, правки вручную) счетчики не видят.
+ */
+@Component
+public class TaskCounters {
+    // Отсутствующая строка счетчика создается с разницей в качестве значения
+    private static final String POSTGRESQL_ADD = "INSERT INTO task_counters (dimension, ref_id, task_count) "
+            + "VALUES (?, ?, ?) ON CONFLICT (dimension, ref_id) "
+            + "DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count";
+    private static final String H2_ADD = "MERGE INTO task_counters c "
+            + "USING (SELECT CAST(? AS VARCHAR(16)) AS dimension, CAST(? AS BIGINT) AS ref_id, "
+            + "CAST(? AS BIGINT) AS delta) d "
+            + "ON c.dimension = d.dimension AND c.ref_id = d.ref_id "
+            + "WHEN MATCHED THEN UPDATE SET task_count = c.task_count + d.delta "
+            + "WHEN NOT MATCHED THEN INSERT (dimension, ref_id, task_count) VALUES (d.dimension, d.ref_id, d.delta)";
+    // Порядок параметров в обоих вариантах
+    private static final int DIMENSION_PARAMETER = 1;
+    private static final int REF_ID_PARAMETER = 2;
+    private static final int DELTA_PARAMETER = 3;
+
+    private final TaskCounterRepository repository;
+    private final ReferenceDataCache referenceDataCache;
+    private final String addSql;
+
+    private final Map<SharedSessionContractImplementor, PendingChanges> pending = new ConcurrentHashMap<>();
+
+    public TaskCounters(@NonNull final TaskCounterRepository repositoryD,
+                        @NonNull final ReferenceDataCache referenceDataCacheD,
+                        @NonNull final EntityManagerFactory entityManagerFactory) {
+        this.repository = repositoryD;
+        this.referenceDataCache = referenceDataCacheD;
+        var dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.addSql = dialect instanceof PostgreSQLDialect ? POSTGRESQL_ADD : H2_ADD;
+    }
+
+    /*
+     * Количество задач без фильтров или с одним фильтром по статусу, исполнителю или метке - одно чтение строки
+     * по первичному ключу. Для поиска по тексту и сочетаний фильтров пусто: их считает COUNT по задачам.
+     */
+    public OptionalLong count(final TaskParamsDTO params) {
+        var filters = Stream.of(params.getStatus(), params.getAssigneeId(), params.getLabelId())
+                .filter(Objects::nonNull)
+                .count();
+        if (params.getTitleCont() != null || filters > 1) {
+            return OptionalLong.empty();
+        }
+        if (params.getStatus() != null) {
+            return OptionalLong.of(referenceDataCache.findTaskStatusBySlug(params.getStatus())
+                    .map(taskStatus -> get(Dimension.STATUS, taskStatus.getId()))
+                    .orElse(0L));
+        }
+        if (params.getAssigneeId() != null) {
+            return OptionalLong.of(get(Dimension.ASSIGNEE, params.getAssigneeId()));
+        }
+        if (params.getLabelId() != null) {
+            return OptionalLong.of(get(Dimension.LABEL, params.getLabelId()));
+        }
+        return OptionalLong.of(get(Dimension.TOTAL, 0L));
+    }
+
+    // Ненулевые счетчики всех измерений
+    public List<TaskCounter> getAll() {
+        return repository.findAllNonZero();
+    }
+
+    private long get(final Dimension dimension, final Long id) {
+        return repository.findById(new TaskCounterId(dimension, id)).map(TaskCounter::getTaskCount).orElse(0L);
+    }
+
+    // Вызывается из сессии Hibernate: разница копится до конца транзакции сессии и при откате теряется
+    void change(final EventSource session, final Dimension dimension, final Long id, final long delta) {
+        if (id == null || delta == 0) {
+            return;
+        }
+        var changes = pending.computeIfAbsent(session, key -> {
+            var created = new PendingChanges();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) created);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) created);
+            return created;
+        });
+        changes.deltas.merge(new TaskCounterId(dimension, id), delta, Long::sum);
+    }
+
+    private final class PendingChanges implements BeforeTransactionCompletionProcess,
+            AfterTransactionCompletionProcess {
+        private final Map<TaskCounterId, Long> deltas = new TreeMap<>(TaskCounterId.UPDATE_ORDER);
+
+        // Один JDBC-пакет; в статистике запроса он считается одним оператором, как пакеты самого Hibernate
+        @Override
+        public void doBeforeTransactionCompletion(final SessionImplementor session) {
+            pending.remove(session);
+            deltas.values().removeIf(delta -> delta == 0);
+            if (deltas.isEmpty()) {
+                return;
+            }
+            session.doWork(connection -> {
+                try (var statement = connection.prepareStatement(addSql)) {
+                    for (var entry : deltas.entrySet()) {
+                        statement.setString(DIMENSION_PARAMETER, entry.getKey().getDimension().name());
+                        statement.setLong(REF_ID_PARAMETER, entry.getKey().getRefId());
+                        statement.setLong(DELTA_PARAMETER, entry.getValue());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+            SqlStatementStats.onStatement();
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(final boolean success,
+                                                 final SharedSessionContractImplementor session) {
+            pending.remove(session);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.tasks.import")
+@Setter
+@Getter
+public class TaskImportProperties {
+    // Строк в одной транзакции загрузки
+    private int batchSize;
+    // Сколько ошибок строк вернуть подробно; остальные только считаются
+    private int maxReportedErrors;
+}
@@ -0,0 +1,17 @@
+package hexlet.code.spring.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.token")
+@Setter
+@Getter
+public class TokenProperties {
+    private Duration accessTokenTtl;
+    private Duration refreshTokenTtl;
+}
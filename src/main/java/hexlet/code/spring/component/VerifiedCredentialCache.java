@@ -0,0 +1,69 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.config.CacheConfig;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Пароли, уже прошедшие проверку BCrypt. Ключ записи - хэш пароля пользователя, значение - HMAC-SHA256
+ * от хэша и открытого пароля на случайном ключе процесса: сам пароль в памяти не хранится, а смена пароля
+ * меняет ключ записи, так что старая запись больше не совпадёт.
+ */
+@Component
+public class VerifiedCredentialCache {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SECRET_LENGTH = 32;
+
+    private final Cache cache;
+    private final SecretKeySpec secret;
+
+    @Autowired
+    public VerifiedCredentialCache(@NonNull final CacheManager cacheManager) {
+        this(cacheManager.getCache(CacheConfig.VERIFIED_CREDENTIALS));
+    }
+
+    public VerifiedCredentialCache(@NonNull final Cache cacheD) {
+        this.cache = cacheD;
+        var bytes = new byte[SECRET_LENGTH];
+        new SecureRandom().nextBytes(bytes);
+        this.secret = new SecretKeySpec(bytes, ALGORITHM);
+    }
+
+    public boolean isVerified(final CharSequence rawPassword, final String encodedPassword) {
+        var expected = cache.get(encodedPassword, byte[].class);
+        return expected != null && MessageDigest.isEqual(expected, mac(rawPassword, encodedPassword));
+    }
+
+    public void markVerified(final CharSequence rawPassword, final String encodedPassword) {
+        cache.put(encodedPassword, mac(rawPassword, encodedPassword));
+    }
+
+    public void evict(final String encodedPassword) {
+        if (encodedPassword != null) {
+            cache.evict(encodedPassword);
+        }
+    }
+
+    private byte[] mac(final CharSequence rawPassword, final String encodedPassword) {
+        try {
+            // Mac не потокобезопасен, экземпляр на вызов стоит микросекунды
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package hexlet.code.spring.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import hexlet.code.spring.component.AppCacheProperties;
+import hexlet.code.spring.util.JwtKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    public static final String TASK_STATUSES_BY_SLUG = "taskStatusesBySlug";
+    public static final String LABELS_BY_ID = "labelsById";
+    public static final String PRINCIPALS = "principals";
+    public static final String VERIFIED_CREDENTIALS = "verifiedCredentials";
+    public static final String JWTS = "jwts";
+
+    @Autowired
+    private AppCacheProperties properties;
+
+    // Общие часы для сроков JWT: кэш jwts, CachingJwtDecoder и JwtTimestampValidator считают время одинаково
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    // Кэши регистрируются заранее, чтобы Actuator сразу публиковал по ним метрики cache.gets (hit/miss)
+    @Bean
+    public CacheManager cacheManager() {
+        var cacheManager = new CaffeineCacheManager();
+        var referenceData = properties.getReferenceData();
+        cacheManager.registerCustomCache(TASK_STATUSES_BY_SLUG, build(referenceData));
+        cacheManager.registerCustomCache(LABELS_BY_ID, build(referenceData));
+        cacheManager.registerCustomCache(PRINCIPALS, build(properties.getPrincipals()));
+        cacheManager.registerCustomCache(VERIFIED_CREDENTIALS, build(properties.getVerifiedCredentials()));
+        cacheManager.registerCustomCache(JWTS, buildUntilExpiration(properties.getJwts(), clock()));
+        return cacheManager;
+    }
+
+    // Общий для DaoAuthenticationProvider (HTTP Basic) и UserService, который сбрасывает записи
+    @Bean
+    public UserCache userCache(final CacheManager cacheManager) {
+        return new SpringCacheBasedUserCache(cacheManager.getCache(PRINCIPALS));
+    }
+
+    private Cache<Object, Object> build(final AppCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    // Запись живёт до exp с тем же допуском, с каким CachingJwtDecoder ещё отдаёт её при попадании
+    private Cache<Object, Object> buildUntilExpiration(final AppCacheProperties.Spec spec, final Clock clock) {
+        var maxTtl = spec.getExpireAfterWrite();
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfter(Expiry.creating((key, value) -> {
+                    var expiresAt = ((Jwt) value).getExpiresAt();
+                    if (expiresAt == null) {
+                        return maxTtl;
+                    }
+                    var ttl = Duration.between(clock.instant(), expiresAt.plus(JwtKeys.CLOCK_SKEW));
+                    if (ttl.isNegative()) {
+                        return Duration.ZERO;
+                    }
+                    return ttl.compareTo(maxTtl) < 0 ? ttl : maxTtl;
+                }))
+                .recordStats()
+                .build();
+    }
+}
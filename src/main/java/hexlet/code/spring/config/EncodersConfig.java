@@ -1,44 +1,96 @@
 package hexlet.code.spring.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
 
-import hexlet.code.spring.component.RsaKeyProperties;
+import hexlet.code.spring.component.CachingJwtDecoder;
+import hexlet.code.spring.component.PasswordHashProperties;
+import hexlet.code.spring.component.JwtKeyProperties;
+import hexlet.code.spring.util.JwtKeys;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class EncodersConfig {
+    private static final int PBKDF2_SALT_LENGTH = 16;
+
+    @Autowired
+    private JwtKeyProperties jwtKeys;
+
     @Autowired
-    // Создается ниже
-    private RsaKeyProperties rsaKeys;
+    private PasswordHashProperties passwordHash;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Clock clock;
+
+    /*
+     * Новые хэши получают префикс {алгоритм}. Хэши без префикса (созданные до перехода на делегирующий
+     * кодировщик) проверяются как bcrypt. Хэши другого алгоритма или меньшей стоимости, чем в настройках,
+     * пересчитываются при успешном входе через CustomUserDetailsService.updatePassword.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        var bcrypt = new BCryptPasswordEncoder(passwordHash.getBcryptStrength());
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, passwordHash.getPbkdf2Iterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        var algorithm = passwordHash.getAlgorithm();
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException(String.format("Неизвестный алгоритм хэширования паролей = %s. "
+                    + "Допустимые значения: %s", algorithm, encoders.keySet()));
+        }
+
+        var encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    // Все настроенные ключи; закрытая часть есть только у тех, для кого задан private-key
+    @Bean
+    JWKSet jwkSet() {
+        List<JWK> keys = new ArrayList<>();
+        for (var key : jwtKeys.getKeys()) {
+            var publicKey = JwtKeys.readPublicKey(key.getPublicKey(), key.getType());
+            var privateKey = key.getPrivateKey() == null ? null
+                    : JwtKeys.readPrivateKey(key.getPrivateKey(), key.getType());
+            keys.add(JwtKeys.toJwk(key.getKid(), key.getType(), publicKey, privateKey));
+        }
+        return new JWKSet(keys);
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    JwtEncoder jwtEncoder(final JWKSet jwkSet) {
+        var signingKey = jwkSet.getKeyByKeyId(jwtKeys.getActiveKeyId());
+        if (signingKey == null || !signingKey.isPrivate()) {
+            throw new IllegalStateException(String.format("Активный ключ JWT = %s не найден "
+                    + "или для него не задан закрытый ключ", jwtKeys.getActiveKeyId()));
+        }
+        return JwtKeys.encoder(signingKey);
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(final JWKSet jwkSet) {
+        var decoder = JwtKeys.decoder(jwkSet.getKeys(), clock);
+        return new CachingJwtDecoder(decoder, cacheManager.getCache(CacheConfig.JWTS), clock, JwtKeys.CLOCK_SKEW);
     }
 }
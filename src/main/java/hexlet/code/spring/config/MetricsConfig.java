@@ -0,0 +1,18 @@
+package hexlet.code.spring.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    // Таймер методов сервисов с тегами class, method и exception
+    public static final String SERVICE_TIMER = "app.service";
+
+    // Обрабатывает @Timed на классах и методах бинов; без аспекта Micrometer аннотацию не замечает
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
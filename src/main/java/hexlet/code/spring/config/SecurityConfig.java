@@ -12,8 +12,11 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import hexlet.code.spring.component.CachingPasswordEncoder;
+import hexlet.code.spring.component.VerifiedCredentialCache;
 import hexlet.code.spring.service.CustomUserDetailsService;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -32,13 +35,20 @@ public class SecurityConfig {
     @Autowired
     private JwtDecoder jwtDecoder;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+
     @Bean
     public SecurityFilterChain securityFilterChain(final HttpSecurity http,
                 final HandlerMappingIntrospector introspector) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/welcome", "/api/login", "/index.html", "/assets/**",
+                        .requestMatchers("/", "/welcome", "/api/login", "/api/token", "/api/token/refresh",
+                                "/index.html", "/assets/**",
                                 "/api-docs", "/v3/api-docs", "/swagger-resources/configuration/ui",
                                 "/configuration/ui", "/swagger-resources", "/swagger-ui/**",
                                 "/swagger-resources/configuration/security", "/configuration/security",
@@ -60,7 +70,10 @@ public class SecurityConfig {
     public AuthenticationProvider daoAuthProvider(final AuthenticationManagerBuilder auth) {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
-        provider.setPasswordEncoder(passwordEncoder);
+        // Повторные запросы HTTP Basic с тем же паролем не платят за BCrypt
+        provider.setPasswordEncoder(new CachingPasswordEncoder(passwordEncoder, verifiedCredentialCache));
+        provider.setUserCache(userCache);
+        provider.setUserDetailsPasswordService(userService);
         return provider;
     }
 }
@@ -10,6 +10,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import hexlet.code.spring.dto.AuthRequest;
+import hexlet.code.spring.dto.RefreshRequest;
+import hexlet.code.spring.dto.TokenDTO;
+import hexlet.code.spring.service.RefreshTokenService;
 import hexlet.code.spring.util.JWTUtils;
 
 @RequiredArgsConstructor
@@ -19,6 +22,7 @@ public final class AuthenticationController {
 
     @NonNull private final JWTUtils jwtUtils;
     @NonNull private final AuthenticationManager authenticationManager;
+    @NonNull private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public String create(@RequestBody final AuthRequest authRequest) {
@@ -30,4 +34,21 @@ public final class AuthenticationController {
         var token = jwtUtils.generateToken(authRequest.getUsername());
         return token;
     }
+
+    // Как /login, но дополнительно выдаёт refresh-токен
+    @PostMapping("/token")
+    public TokenDTO token(@RequestBody final AuthRequest authRequest) {
+        var authentication = new UsernamePasswordAuthenticationToken(
+                authRequest.getUsername(), authRequest.getPassword());
+
+        authenticationManager.authenticate(authentication);
+
+        return refreshTokenService.issue(authRequest.getUsername());
+    }
+
+    // Обмен refresh-токена на новую пару без проверки пароля; предъявленный токен становится недействительным
+    @PostMapping("/token/refresh")
+    public TokenDTO refresh(@RequestBody final RefreshRequest refreshRequest) {
+        return refreshTokenService.refresh(refreshRequest.getRefreshToken());
+    }
 }
@@ -4,6 +4,7 @@ import hexlet.code.spring.dto.label.LabelCreateDTO;
 import hexlet.code.spring.dto.label.LabelDTO;
 import hexlet.code.spring.dto.label.LabelUpdateDTO;
 import hexlet.code.spring.service.LabelService;
+import hexlet.code.spring.util.KeysetPageResponse;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -34,11 +35,19 @@ public class LabelController {
             @RequestParam(name = "_start", defaultValue = "0") final long start,
             @RequestParam(name = "_end", defaultValue = "10") final long end,
             @RequestParam(name = "_order", defaultValue = "ASC") final String order,
-            @RequestParam(name = "_sort", defaultValue = "id") final String sort) {
-        var labelsDTO = service.getAll(start, end, order, sort);
+            @RequestParam(name = "_sort", defaultValue = "id") final String sort,
+            @RequestParam(name = "_after", required = false) final String after,
+            @RequestParam(name = "_limit", required = false) final Integer limit) {
+        if (after != null || limit != null) {
+            // Количество только для первой страницы (без _after): дальше клиент его уже знает
+            return KeysetPageResponse.of(service.scroll(after, limit, order, sort),
+                    after == null ? service.count() : null);
+        }
+
+        var page = service.getAll(start, end, order, sort);
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(service.count()))
-                .body(labelsDTO);
+                .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
     }
 
     @GetMapping("/{id}")
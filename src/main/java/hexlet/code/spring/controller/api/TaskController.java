@@ -1,16 +1,31 @@
 package hexlet.code.spring.controller.api;
 
+import hexlet.code.spring.dto.task.TaskBatchResultDTO;
+import hexlet.code.spring.dto.task.TaskBatchUpdateDTO;
 import hexlet.code.spring.dto.task.TaskCreateDTO;
+import hexlet.code.spring.dto.task.TaskCountersDTO;
 import hexlet.code.spring.dto.task.TaskDTO;
+import hexlet.code.spring.dto.task.TaskStatsDTO;
 import hexlet.code.spring.dto.task.TaskUpdateDTO;
+import hexlet.code.spring.service.TaskBatchService;
+import hexlet.code.spring.service.TaskExportService;
+import hexlet.code.spring.service.TaskImportService;
 import hexlet.code.spring.service.TaskService;
+import hexlet.code.spring.service.TaskStatsService;
+import hexlet.code.spring.util.KeysetPageResponse;
+import hexlet.code.spring.util.TaskFileFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -20,6 +35,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -29,13 +46,62 @@ import java.util.Map;
 public class TaskController {
 
     @NonNull private final TaskService service;
+    @NonNull private final TaskBatchService batchService;
+    @NonNull private final TaskExportService exportService;
+    @NonNull private final TaskImportService importService;
+    @NonNull private final TaskStatsService statsService;
 
     @GetMapping
     public ResponseEntity<List<TaskDTO>> index(@RequestParam final Map<String, String> allParams) {
-        var tasksDTO = service.getAll(allParams);
+        // Параметры проверяются до первого запроса, некорректный запрос получает 400 без обращения к базе
+        if (allParams.containsKey("_after") || allParams.containsKey("_limit")) {
+            var page = service.scroll(allParams);
+            return KeysetPageResponse.of(page, page.getTotalCount());
+        }
+
+        var page = service.getAll(allParams);
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(service.count(allParams)))
-                .body(tasksDTO);
+                .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
+    }
+
+    // Те же фильтры, что и у index; все разбивки считаются в базе одним запросом на каждую
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskStatsDTO stats(@RequestParam final Map<String, String> allParams,
+                              @RequestParam(defaultValue = "day") final String interval) {
+        return statsService.getStats(allParams, interval);
+    }
+
+    // Готовые значения TaskCounters без запросов к задачам; с фильтрами и по датам - /stats
+    @GetMapping("/counters")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskCountersDTO counters() {
+        return statsService.getCounters();
+    }
+
+    // Те же фильтры, что и у index; строки пишутся в ответ по мере чтения из базы
+    @GetMapping("/export")
+    public void export(@RequestParam final Map<String, String> allParams,
+                       @RequestParam(defaultValue = "ndjson") final String format,
+                       final HttpServletResponse response) throws IOException {
+        var exportFormat = TaskFileFormat.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.getExtension()).build().toString());
+        exportService.export(allParams, exportFormat, response.getOutputStream());
+    }
+
+    // Тело запроса - файл в формате выгрузки; в ответ по мере загрузки пишутся события TaskImportEventDTO
+    @PostMapping("/import")
+    public void importTasks(@RequestParam(defaultValue = "ndjson") final String format,
+                            final HttpServletRequest request,
+                            final HttpServletResponse response) throws IOException {
+        var importFormat = TaskFileFormat.parse(format);
+        response.setContentType(TaskFileFormat.NDJSON.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        importService.importTasks(importFormat, request.getInputStream(), response.getOutputStream());
     }
 
     @GetMapping("/{id}")
@@ -50,6 +116,19 @@ public class TaskController {
         return service.create(dto);
     }
 
+    // Элементы проверяются по отдельности: ошибка в одном из них не отклоняет весь пакет
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskBatchResultDTO> createBatch(@RequestBody final List<TaskCreateDTO> dtos) {
+        return batchService.createAll(dtos);
+    }
+
+    @PatchMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskBatchResultDTO> updateBatch(@RequestBody final List<TaskBatchUpdateDTO> dtos) {
+        return batchService.updateAll(dtos);
+    }
+
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TaskDTO update(@Valid @RequestBody final TaskUpdateDTO dto, @PathVariable final long id) {
@@ -4,6 +4,7 @@ import hexlet.code.spring.dto.user.UserCreateDTO;
 import hexlet.code.spring.dto.user.UserDTO;
 import hexlet.code.spring.dto.user.UserUpdateDTO;
 import hexlet.code.spring.service.UserService;
+import hexlet.code.spring.util.KeysetPageResponse;
 
 import jakarta.validation.Valid;
 import lombok.NonNull;
@@ -35,11 +36,19 @@ public final class UserController {
     public ResponseEntity<List<UserDTO>> index(@RequestParam(name = "_start", defaultValue = "0") final long start,
                                @RequestParam(name = "_end", defaultValue = "10") final long end,
                                @RequestParam(name = "_order", defaultValue = "ASC") final String order,
-                               @RequestParam(name = "_sort", defaultValue = "id") final String sort) {
-        var usersDTO = service.getAll(start, end, order, sort);
+                               @RequestParam(name = "_sort", defaultValue = "id") final String sort,
+                               @RequestParam(name = "_after", required = false) final String after,
+                               @RequestParam(name = "_limit", required = false) final Integer limit) {
+        if (after != null || limit != null) {
+            // Количество только для первой страницы (без _after): дальше клиент его уже знает
+            return KeysetPageResponse.of(service.scroll(after, limit, order, sort),
+                    after == null ? service.count() : null);
+        }
+
+        var page = service.getAll(start, end, order, sort);
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(service.count()))
-                .body(usersDTO);
+                .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
     }
 
     @GetMapping("/{id}")
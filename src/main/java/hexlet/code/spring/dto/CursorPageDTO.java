@@ -0,0 +1,19 @@
+package hexlet.code.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor;
+    // Строк под фильтром без учета курсора; null, если сервис их не считал
+    private Long totalCount;
+
+    public CursorPageDTO(final List<T> contentD, final String nextCursorD) {
+        this(contentD, nextCursorD, null);
+    }
+}
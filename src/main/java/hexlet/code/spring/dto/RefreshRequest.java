@@ -0,0 +1,10 @@
+package hexlet.code.spring.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class RefreshRequest {
+    private String refreshToken;
+}
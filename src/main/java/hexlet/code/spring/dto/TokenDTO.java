@@ -0,0 +1,17 @@
+package hexlet.code.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenDTO {
+    private String accessToken;
+    private String refreshToken;
+    // Срок жизни accessToken в секундах
+    private long expiresIn;
+}
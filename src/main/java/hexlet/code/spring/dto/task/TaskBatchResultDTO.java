@@ -0,0 +1,28 @@
+package hexlet.code.spring.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Результат обработки одного элемента пакетного запроса: position - индекс элемента в запросе,
+ * status - HTTP-код, который получил бы одиночный запрос, task или error - результат либо причина отказа.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResultDTO {
+    private int position;
+    private int status;
+    private TaskDTO task;
+    private String error;
+
+    public static TaskBatchResultDTO success(final int position, final HttpStatus status, final TaskDTO task) {
+        return new TaskBatchResultDTO(position, status.value(), task, null);
+    }
+
+    public static TaskBatchResultDTO failure(final int position, final HttpStatus status, final String error) {
+        return new TaskBatchResultDTO(position, status.value(), null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package hexlet.code.spring.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+// Элемент PATCH /api/tasks/batch: частичное обновление задачи с указанным id
+@Getter
+@Setter
+public class TaskBatchUpdateDTO extends TaskUpdateDTO {
+    @NotNull
+    private Long id;
+}
@@ -0,0 +1,19 @@
+package hexlet.code.spring.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Ответ GET /api/tasks/counters: текущие значения счетчиков без фильтров (см. TaskCounters).
+ * Ключи byStatus - slug, byAssignee и byLabel - идентификаторы; нулевые счетчики не выводятся.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCountersDTO {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byAssignee;
+    private Map<String, Long> byLabel;
+}
@@ -0,0 +1,33 @@
+package hexlet.code.spring.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Строка ответа POST /api/tasks/import (NDJSON): error - отклонённая строка файла,
+ * progress - после каждой сохранённой порции, summary - итог в конце загрузки.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportEventDTO {
+    private String type;
+    private Long row;
+    private String message;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+
+    public static TaskImportEventDTO error(final long row, final String message) {
+        return new TaskImportEventDTO("error", row, message, null, null, null);
+    }
+
+    public static TaskImportEventDTO progress(final long processed, final long imported, final long failed) {
+        return new TaskImportEventDTO("progress", null, null, processed, imported, failed);
+    }
+
+    public static TaskImportEventDTO summary(final long processed, final long imported, final long failed) {
+        return new TaskImportEventDTO("summary", null, null, processed, imported, failed);
+    }
+}
@@ -14,4 +14,6 @@ public class TaskParamsDTO {
     private String sortOrder;
     private Long start;
     private Long end;
+    private String after;
+    private Integer limit;
 }
@@ -0,0 +1,21 @@
+package hexlet.code.spring.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Ответ GET /api/tasks/stats: количество задач под фильтром и его разбивки. Ключи byAssignee и byLabel -
+ * идентификаторы, задачи без исполнителя считаются под ключом none; ключи byCreatedDate - начало интервала
+ * (день или понедельник недели в формате yyyy-MM-dd, месяц в формате yyyy-MM).
+ */
+@Getter
+@AllArgsConstructor
+public class TaskStatsDTO {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byAssignee;
+    private Map<String, Long> byLabel;
+    private Map<String, Long> byCreatedDate;
+}
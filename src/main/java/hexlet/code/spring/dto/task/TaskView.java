@@ -0,0 +1,22 @@
+package hexlet.code.spring.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка задач, собираемая конструктором прямо в запросе: сущности Task не создаются
+ * и не попадают в контекст персистентности.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskView {
+    private Long id;
+    private Integer index;
+    private String name;
+    private String description;
+    private String statusSlug;
+    private Long assigneeId;
+    private LocalDateTime createdAt;
+}
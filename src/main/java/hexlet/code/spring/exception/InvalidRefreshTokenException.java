@@ -0,0 +1,7 @@
+package hexlet.code.spring.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(final String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,8 @@ import hexlet.code.spring.dto.task.TaskCreateDTO;
 import hexlet.code.spring.dto.task.TaskDTO;
 import hexlet.code.spring.dto.task.TaskParamsDTO;
 import hexlet.code.spring.dto.task.TaskUpdateDTO;
+import hexlet.code.spring.dto.task.TaskView;
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
 import hexlet.code.spring.model.Label;
 import hexlet.code.spring.model.Task;
 import hexlet.code.spring.model.TaskStatus;
@@ -32,8 +34,28 @@ public abstract class TaskMainMapper {
 
     @AfterMapping
     public final void afterMapToParamsDTO(final Map<String, String> map, @MappingTarget final TaskParamsDTO dto) {
-        dto.setStart(!map.containsKey("_start") ? 0L : Long.parseLong(map.get("_start")));
-        dto.setEnd(!map.containsKey("_end") ? maxEntity : Long.parseLong(map.get("_end")));
+        dto.setStart(!map.containsKey("_start") ? 0L : parseLong(map, "_start"));
+        dto.setEnd(!map.containsKey("_end") ? maxEntity : parseLong(map, "_end"));
+        dto.setLimit(!map.containsKey("_limit") ? null : parseInt(map, "_limit"));
+    }
+
+    // Нечисловое или не помещающееся в тип значение - ошибка запроса (400), как и некорректный диапазон
+    private static long parseLong(final Map<String, String> map, final String name) {
+        try {
+            return Long.parseLong(map.get(name));
+        } catch (NumberFormatException e) {
+            throw new RequestDataCannotBeProcessed(String.format("Параметр %s должен быть целым числом, "
+                    + "указано = %s", name, map.get(name)));
+        }
+    }
+
+    private static int parseInt(final Map<String, String> map, final String name) {
+        try {
+            return Integer.parseInt(map.get(name));
+        } catch (NumberFormatException e) {
+            throw new RequestDataCannotBeProcessed(String.format("Параметр %s должен быть целым числом, "
+                    + "указано = %s", name, map.get(name)));
+        }
     }
 
     @Mapping(source = "name", target = "title")
@@ -44,6 +66,16 @@ public abstract class TaskMainMapper {
     @Mapping(source = "taskStatus", target = "status", qualifiedByName = "taskStatusToSlug")
     public abstract TaskDTO mapToDTO(Task model);
 
+    @Mapping(source = "view.id", target = "id")
+    @Mapping(source = "view.index", target = "index")
+    @Mapping(source = "view.name", target = "title")
+    @Mapping(source = "view.description", target = "content")
+    @Mapping(source = "view.statusSlug", target = "status")
+    @Mapping(source = "view.assigneeId", target = "assigneeId")
+    @Mapping(target = "createdAt", source = "view.createdAt", dateFormat = "yyyy-MM-dd")
+    @Mapping(source = "taskLabelIds", target = "taskLabelIds")
+    public abstract TaskDTO mapToDTO(TaskView view, Set<Long> taskLabelIds);
+
     @Mapping(source = "title", target = "name")
     @Mapping(source = "content", target = "description")
     @Mapping(target = "assignee", ignore = true)
@@ -60,6 +92,8 @@ public abstract class TaskMainMapper {
 
     @Mapping(target = "start", ignore = true)
     @Mapping(target = "end", ignore = true)
+    @Mapping(target = "limit", ignore = true)
+    @Mapping(source = "_after", target = "after")
     @Mapping(source = "titleCont", target = "titleCont")
     @Mapping(source = "assigneeId", target = "assigneeId")
     @Mapping(source = "status", target = "status")
@@ -0,0 +1,13 @@
+package hexlet.code.spring.model;
+
+/**
+ * Идентификаторы всех сущностей выдаются последовательностями (*_seq) пулами по ALLOCATION_SIZE:
+ * Hibernate обращается к последовательности раз на пул и может группировать INSERT в JDBC-пакеты,
+ * что невозможно с IDENTITY. Шаг последовательностей в миграциях (V6) должен совпадать с ALLOCATION_SIZE.
+ */
+public final class IdGeneration {
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -12,6 +12,9 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -27,14 +30,21 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.GRAPH_STATUS_AND_ASSIGNEE, attributeNodes = {
+        @NamedAttributeNode("taskStatus"),
+        @NamedAttributeNode("assignee")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @EntityListeners(AuditingEntityListener.class)
 public class Task {
+    public static final String GRAPH_STATUS_AND_ASSIGNEE = "Task.withStatusAndAssignee";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
     @NotEmpty
@@ -0,0 +1,26 @@
+package hexlet.code.spring.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Число задач в одном измерении (см. TaskCounters). Строки только читаются через JPA: изменяет их
+ * TaskCounters перед коммитом транзакции, изменившей задачи.
+ */
+@Entity
+@Table(name = "task_counters")
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TaskCounter {
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private TaskCounterId id;
+    @Column(nullable = false)
+    private long taskCount;
+}
@@ -0,0 +1,36 @@
+package hexlet.code.spring.model;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+// Измерение и id статуса, исполнителя или метки; у TOTAL id всегда 0
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class TaskCounterId implements Serializable {
+    // Порядок, в котором транзакция обновляет строки счетчиков: одинаковый у всех транзакций, без взаимных блокировок
+    public static final Comparator<TaskCounterId> UPDATE_ORDER = Comparator.comparing(TaskCounterId::getDimension)
+            .thenComparing(TaskCounterId::getRefId);
+
+    public enum Dimension {
+        TOTAL, STATUS, ASSIGNEE, LABEL
+    }
+
+    // Столбец VARCHAR, а не ENUM СУБД: значения пишет и SQL в TaskCounters
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Dimension dimension;
+    private Long refId;
+}
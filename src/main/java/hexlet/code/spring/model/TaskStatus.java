@@ -6,12 +6,14 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -24,9 +26,13 @@ import java.time.LocalDateTime;
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @EntityListeners(AuditingEntityListener.class)
+// Статусы из ReferenceDataCache приходят ссылками; пакет задач инициализирует их одним запросом
+@BatchSize(size = IdGeneration.ALLOCATION_SIZE)
 public class TaskStatus {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_statuses_seq")
+    @SequenceGenerator(name = "task_statuses_seq", sequenceName = "task_statuses_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
     @NotEmpty
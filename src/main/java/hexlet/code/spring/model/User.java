@@ -10,6 +10,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.EntityListeners;
 import jakarta.validation.constraints.Email;
@@ -32,7 +33,8 @@ import java.util.Collection;
 @EntityListeners(AuditingEntityListener.class)
 public final class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
     private String firstName;
@@ -3,6 +3,7 @@ package hexlet.code.spring.repository;
 import hexlet.code.spring.model.Label;
 import hexlet.code.spring.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LabelRepository extends JpaRepository<Label, Long> {
+public interface LabelRepository extends JpaRepository<Label, Long>, JpaSpecificationExecutor<Label> {
     Optional<Label> findByName(String name);
     boolean existsByName(String name);
     List<Label> findAllByTasks(Task task);
@@ -0,0 +1,32 @@
+package hexlet.code.spring.repository;
+
+import hexlet.code.spring.model.RefreshToken;
+import hexlet.code.spring.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Количество удалённых строк показывает, успел ли параллельный запрос использовать токен раньше
+    @Modifying
+    @Query("delete from RefreshToken r where r.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.user = :user and r.expiresAt < :now")
+    void deleteExpired(@Param("user") User user, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.user = :user")
+    void deleteAllByUser(@Param("user") User user);
+}
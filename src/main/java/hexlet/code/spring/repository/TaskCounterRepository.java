@@ -0,0 +1,15 @@
+package hexlet.code.spring.repository;
+
+import hexlet.code.spring.model.TaskCounter;
+import hexlet.code.spring.model.TaskCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounterId> {
+    @Query("select c from TaskCounter c where c.taskCount <> 0")
+    List<TaskCounter> findAllNonZero();
+}
@@ -3,12 +3,26 @@ package hexlet.code.spring.repository;
 import hexlet.code.spring.model.Task;
 import hexlet.code.spring.model.TaskStatus;
 import hexlet.code.spring.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
+    @Override
+    @EntityGraph(Task.GRAPH_STATUS_AND_ASSIGNEE)
+    Optional<Task> findById(Long id);
+
+    // Для пакетного обновления: задачи вместе со всеми связями, нужными для ответа, одним запросом
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findAllByIdIn(Collection<Long> ids);
+
     boolean existsByAssignee(User user);
     boolean existsByTaskStatus(TaskStatus taskStatus);
     boolean existsByAssigneeAndTaskStatus(User user, TaskStatus taskStatus);
@@ -0,0 +1,57 @@
+package hexlet.code.spring.repository;
+
+import hexlet.code.spring.dto.task.TaskView;
+import hexlet.code.spring.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    /**
+     * Возвращает только содержимое страницы в виде проекций: сортировка, OFFSET и LIMIT выполняются в базе,
+     * запрос на подсчет общего количества не выполняется.
+     */
+    List<TaskView> findViews(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * То же, что findViews, но с порядком leadingOrder (например, по релевантности) перед сортировкой
+     * pageable; null - без него.
+     */
+    List<TaskView> findViews(Specification<Task> spec, BiFunction<Root<Task>, CriteriaBuilder, Order> leadingOrder,
+                             Pageable pageable);
+
+    /**
+     * Те же проекции, что и findViews, но без LIMIT: строки читаются курсором порциями по fetchSize.
+     * Поток нужно закрыть и прочитать внутри транзакции.
+     */
+    Stream<TaskView> streamViews(Specification<Task> spec, Sort sort, int fetchSize);
+
+    /**
+     * Идентификаторы меток для переданных задач одним запросом.
+     */
+    Map<Long, Set<Long>> findLabelIds(Collection<Long> taskIds);
+
+    /**
+     * SELECT COUNT(DISTINCT t.id) по тому же фильтру, без загрузки сущностей.
+     */
+    long countDistinct(Specification<Task> spec);
+
+    /**
+     * SELECT key, COUNT(DISTINCT t.id) ... GROUP BY key по тому же фильтру, где key строится выражением
+     * от корня запроса. Группы идут по убыванию количества; ключ может быть null
+     * (например, задачи без исполнителя).
+     */
+    <K> Map<K, Long> countGroupedBy(Specification<Task> spec,
+                                    BiFunction<Root<Task>, CriteriaBuilder, Expression<K>> key);
+}
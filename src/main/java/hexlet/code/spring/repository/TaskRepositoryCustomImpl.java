@@ -0,0 +1,147 @@
+package hexlet.code.spring.repository;
+
+import hexlet.code.spring.dto.task.TaskView;
+import hexlet.code.spring.model.Task;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findViews(final Specification<Task> spec, final Pageable pageable) {
+        return findViews(spec, null, pageable);
+    }
+
+    @Override
+    public List<TaskView> findViews(final Specification<Task> spec,
+                                    final BiFunction<Root<Task>, CriteriaBuilder, Order> leadingOrder,
+                                    final Pageable pageable) {
+        return viewsQuery(spec, leadingOrder, pageable.getSort())
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskView> streamViews(final Specification<Task> spec, final Sort sort, final int fetchSize) {
+        return viewsQuery(spec, null, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Map<Long, Set<Long>> findLabelIds(final Collection<Long> taskIds) {
+        Map<Long, Set<Long>> result = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return result;
+        }
+
+        var rows = entityManager.createQuery("select t.id, l.id from Task t join t.labels l where t.id in :ids",
+                        Object[].class)
+                .setParameter("ids", taskIds)
+                .getResultList();
+        for (var row : rows) {
+            result.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        return result;
+    }
+
+    @Override
+    public long countDistinct(final Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.countDistinct(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public <K> Map<K, Long> countGroupedBy(final Specification<Task> spec,
+                                           final BiFunction<Root<Task>, CriteriaBuilder, Expression<K>> key) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        var keyExpression = key.apply(root, cb);
+        var count = cb.countDistinct(root);
+        query.multiselect(keyExpression, count)
+                .groupBy(keyExpression)
+                .orderBy(cb.desc(count));
+
+        Map<K, Long> result = new LinkedHashMap<>();
+        for (var row : entityManager.createQuery(query).getResultList()) {
+            result.put(row.get(keyExpression), row.get(count));
+        }
+        return result;
+    }
+
+    private TypedQuery<TaskView> viewsQuery(final Specification<Task> spec,
+                                            final BiFunction<Root<Task>, CriteriaBuilder, Order> leadingOrder,
+                                            final Sort sort) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskView.class);
+        var root = query.from(Task.class);
+        Join<Task, TaskStatus> taskStatus = root.join("taskStatus");
+        Join<Task, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Order> orders = new ArrayList<>();
+        if (leadingOrder != null) {
+            orders.add(leadingOrder.apply(root, cb));
+        }
+        orders.addAll(QueryUtils.toOrders(sort, root, cb));
+        query.select(cb.construct(TaskView.class,
+                        root.get("id"),
+                        root.get("index"),
+                        root.get("name"),
+                        root.get("description"),
+                        taskStatus.get("slug"),
+                        assignee.get("id"),
+                        root.get("createdAt")))
+                .orderBy(orders);
+
+        return entityManager.createQuery(query);
+    }
+}
@@ -2,11 +2,16 @@ package hexlet.code.spring.repository;
 
 import hexlet.code.spring.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
+public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long>, JpaSpecificationExecutor<TaskStatus> {
     Optional<TaskStatus> findBySlug(String slug);
     boolean existsBySlug(String slug);
+    List<TaskStatus> findAllBySlugIn(Collection<String> slugs);
 }
@@ -2,21 +2,26 @@ package hexlet.code.spring.service;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 
+import hexlet.code.spring.component.VerifiedCredentialCache;
 import hexlet.code.spring.model.User;
 import hexlet.code.spring.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
-public final class CustomUserDetailsService implements UserDetailsManager {
+public final class CustomUserDetailsService implements UserDetailsManager, UserDetailsPasswordService {
 
     @NonNull private final UserRepository userRepository;
     @NonNull private final PasswordEncoder passwordEncoder;
+    @NonNull private final UserCache userCache;
+    @NonNull private final VerifiedCredentialCache verifiedCredentialCache;
 
     @Override
     public void createUser(final UserDetails userData) {
@@ -34,6 +39,19 @@ public final class CustomUserDetailsService implements UserDetailsManager {
         return user;
     }
 
+    // Вызывается DaoAuthenticationProvider после успешного входа, если хэш устарел (см. EncodersConfig)
+    @Override
+    public UserDetails updatePassword(final UserDetails userData, final String newPassword) {
+        var user = userRepository.findByEmail(userData.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        verifiedCredentialCache.evict(user.getPasswordDigest());
+        user.setPasswordDigest(newPassword);
+        userRepository.save(user);
+        // Иначе следующий вход возьмёт из кэша пользователя со старым хэшем и пересчитает его снова
+        userCache.removeUserFromCache(user.getEmail());
+        return user;
+    }
+
     @Override
     public void updateUser(final UserDetails user) {
         // TODO Auto-generated method stub
@@ -1,5 +1,8 @@
 package hexlet.code.spring.service;
 
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.config.MetricsConfig;
+import hexlet.code.spring.dto.CursorPageDTO;
 import hexlet.code.spring.dto.label.LabelCreateDTO;
 import hexlet.code.spring.dto.label.LabelDTO;
 import hexlet.code.spring.dto.label.LabelUpdateDTO;
@@ -10,17 +13,22 @@ import hexlet.code.spring.mapper.LabelMainMapper;
 import hexlet.code.spring.model.Label;
 import hexlet.code.spring.repository.LabelRepository;
 import hexlet.code.spring.repository.TaskRepository;
+import hexlet.code.spring.specification.KeysetSpecification;
+import hexlet.code.spring.util.KeysetPageRequest;
+import hexlet.code.spring.util.OffsetPageRequest;
+import hexlet.code.spring.util.SortableFields;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
 
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Service
 @RequiredArgsConstructor
 public class LabelService {
@@ -28,26 +36,34 @@ public class LabelService {
     @NonNull private final LabelRepository repository;
     @NonNull private final LabelMainMapper mapper;
     @NonNull private final TaskRepository taskRepository;
+    @NonNull private final KeysetSpecification keysetSpecification;
+    @NonNull private final ReferenceDataCache referenceDataCache;
 
-    private final String rightOrder = "ASC";
-    private final String inverseOrder = "DESC";
+    private final SortableFields sortableFields = SortableFields.of("id", "name", "createdAt");
 
-    public final List<LabelDTO> getAll(final long start, final long end, final String order, final String sort) {
-        return repository.findAll().stream()
-                .sorted(getCompare(order, sort))
-                .skip(start)
-                .limit(end - start + 1)
-                .map(mapper::mapToDTO)
-                .toList();
+    public Page<LabelDTO> getAll(final long start, final long end, final String order, final String sort) {
+        var pageable = OffsetPageRequest.ofRange(start, end, sortableFields.toSort(order, sort));
+        return repository.findAll(pageable).map(mapper::mapToDTO);
     }
 
-    public final LabelDTO findById(final Long id) {
+    public CursorPageDTO<LabelDTO> scroll(final String after, final Integer limit, final String order,
+                                          final String sort) {
+        var request = KeysetPageRequest.of(after, limit, order, sort, sortableFields);
+        Specification<Label> spec = keysetSpecification.build(request);
+        List<Label> labels = repository.findBy(spec, query -> query.sortBy(request.toSort())
+                .limit(request.getLimit())
+                .all());
+        return new CursorPageDTO<>(labels.stream().map(mapper::mapToDTO).toList(), request.nextCursor(labels));
+    }
+
+    public LabelDTO findById(final Long id) {
         var label = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Label with id = %s not found", id)));
         return mapper.mapToDTO(label);
     }
 
-    public final LabelDTO create(@Valid final LabelCreateDTO dto) {
+    @Transactional
+    public LabelDTO create(@Valid final LabelCreateDTO dto) {
         var nameLabel = dto.getName();
         if (repository.existsByName(nameLabel)) {
             throw new RequestDataCannotBeProcessed(String.format("Название метки должно быть уникальным. "
@@ -56,10 +72,12 @@ public class LabelService {
 
         var label = mapper.mapToModel(dto);
         repository.save(label);
+        referenceDataCache.evictLabels();
         return mapper.mapToDTO(label);
     }
 
-    public final LabelDTO update(@Valid final LabelUpdateDTO dto, final Long id) {
+    @Transactional
+    public LabelDTO update(@Valid final LabelUpdateDTO dto, final Long id) {
         var label = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Label with id = %s not found", id)));
 
@@ -71,10 +89,12 @@ public class LabelService {
 
         mapper.updateModelFromDTO(dto, label);
         repository.save(label);
+        referenceDataCache.evictLabels();
         return mapper.mapToDTO(label);
     }
 
-    public final void delete(final Long id) {
+    @Transactional
+    public void delete(final Long id) {
         var label = repository.findById(id);
         if (label.isEmpty()) {
             throw new ResourceNotFoundException(String.format("Label with id = %s not found", id));
@@ -86,32 +106,10 @@ public class LabelService {
         }
 
         repository.deleteById(id);
+        referenceDataCache.evictLabels();
     }
 
-    public final long count() {
+    public long count() {
         return repository.count();
     }
-
-    private Comparator<Label> getCompare(final String order, final String sort) {
-        Map<String, Comparator<Label>> mapComparator = new HashMap<>();
-        mapComparator.put("id", Comparator.comparingLong(Label::getId));
-        mapComparator.put("name", Comparator.comparing(Label::getName));
-        mapComparator.put("createdAt", Comparator.comparing(Label::getCreatedAt));
-
-        Map<String, Function<Comparator<Label>, Comparator<Label>>> mapOrder = new HashMap<>();
-        mapOrder.put(inverseOrder, Comparator::reversed);
-        mapOrder.put(rightOrder, comp -> comp);
-
-        if (!mapComparator.containsKey(sort)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указано некорректное поле сортировки = %s", sort));
-        }
-        if (!mapOrder.containsKey(order)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный порядок сортировки = %s", order));
-        }
-
-        var comparator = mapComparator.get(sort);
-        var func = mapOrder.get(order);
-
-        return func.apply(comparator);
-    }
 }
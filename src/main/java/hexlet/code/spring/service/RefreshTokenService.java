@@ -0,0 +1,95 @@
+package hexlet.code.spring.service;
+
+import hexlet.code.spring.component.TokenProperties;
+import hexlet.code.spring.dto.TokenDTO;
+import hexlet.code.spring.exception.InvalidRefreshTokenException;
+import hexlet.code.spring.model.RefreshToken;
+import hexlet.code.spring.model.User;
+import hexlet.code.spring.repository.RefreshTokenRepository;
+import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.util.JWTUtils;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Выдача и ротация refresh-токенов. Токен - 256 случайных бит, в базе хранится только его SHA-256.
+ * Каждый токен одноразовый: обмен на новую пару удаляет его, повторное предъявление отклоняется.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private static final int TOKEN_LENGTH = 32;
+
+    @NonNull private final RefreshTokenRepository repository;
+    @NonNull private final UserRepository userRepository;
+    @NonNull private final JWTUtils jwtUtils;
+    @NonNull private final TokenProperties properties;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // Вызывается после успешной проверки пароля
+    @Transactional
+    public TokenDTO issue(final String email) {
+        var user = userRepository.findByEmail(email).orElseThrow(() ->
+                new InvalidRefreshTokenException(String.format("User with email = %s not found", email)));
+        return issue(user);
+    }
+
+    // Не обращается к PasswordEncoder: достаточно действующего refresh-токена
+    @Transactional
+    public TokenDTO refresh(final String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh-токен не передан");
+        }
+
+        var stored = repository.findByTokenHash(hash(refreshToken))
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh-токен недействителен или истёк"));
+        if (repository.deleteByIdReturningCount(stored.getId()) == 0) {
+            throw new InvalidRefreshTokenException("Refresh-токен уже использован");
+        }
+        return issue(stored.getUser());
+    }
+
+    // Смена пароля или удаление пользователя отзывает все его refresh-токены
+    @Transactional
+    public void revokeAll(final User user) {
+        repository.deleteAllByUser(user);
+    }
+
+    private TokenDTO issue(final User user) {
+        var now = LocalDateTime.now();
+        repository.deleteExpired(user, now);
+
+        var bytes = new byte[TOKEN_LENGTH];
+        random.nextBytes(bytes);
+        var value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        var refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(value));
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(now.plus(properties.getRefreshTokenTtl()));
+        repository.save(refreshToken);
+
+        var accessToken = jwtUtils.generateToken(user.getEmail());
+        return new TokenDTO(accessToken, value, properties.getAccessTokenTtl().toSeconds());
+    }
+
+    private static String hash(final String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
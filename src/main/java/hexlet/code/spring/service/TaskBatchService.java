@@ -0,0 +1,213 @@
+package hexlet.code.spring.service;
+
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.dto.task.TaskBatchResultDTO;
+import hexlet.code.spring.dto.task.TaskBatchUpdateDTO;
+import hexlet.code.spring.dto.task.TaskCreateDTO;
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import hexlet.code.spring.exception.ResourceNotFoundException;
+import hexlet.code.spring.mapper.JsonNullableMapper;
+import hexlet.code.spring.mapper.TaskMainMapper;
+import hexlet.code.spring.model.Label;
+import hexlet.code.spring.model.Task;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.model.User;
+import hexlet.code.spring.repository.TaskRepository;
+import hexlet.code.spring.repository.UserRepository;
+import jakarta.validation.Validator;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Пакетное создание и обновление задач. Статусы, исполнители, метки и обновляемые задачи загружаются
+ * одним запросом на каждый вид сущности, все изменения пишутся в одной транзакции (вставки и обновления
+ * группируются в JDBC-пакеты по hibernate.jdbc.batch_size). Ошибка в элементе не прерывает пакет:
+ * элемент получает результат с кодом и причиной отказа, остальные сохраняются.
+ */
+@RequiredArgsConstructor
+@Service
+public class TaskBatchService {
+    // Согласован с бюджетом "[POST /api/tasks/batch]" и "[PATCH /api/tasks/batch]" в application.yml
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NonNull private final TaskRepository repository;
+    @NonNull private final UserRepository userRepository;
+    @NonNull private final ReferenceDataCache referenceDataCache;
+    @NonNull private final TaskMainMapper mapper;
+    @NonNull private final JsonNullableMapper jsonNullableMapper;
+    @NonNull private final Validator validator;
+
+    @Transactional
+    public List<TaskBatchResultDTO> createAll(final List<TaskCreateDTO> dtos) {
+        checkSize(dtos);
+        var statuses = referenceDataCache.findTaskStatusesBySlugs(collect(dtos, TaskCreateDTO::getStatus));
+        var assignees = findAssignees(collect(dtos, TaskCreateDTO::getAssigneeId));
+        var labels = findLabels(dtos.stream().filter(Objects::nonNull).map(TaskCreateDTO::getTaskLabelIds));
+
+        var results = new TaskBatchResultDTO[dtos.size()];
+        Map<Integer, Task> created = new LinkedHashMap<>();
+        for (var i = 0; i < dtos.size(); i++) {
+            var dto = dtos.get(i);
+            var violation = validate(dto);
+            if (violation != null) {
+                results[i] = TaskBatchResultDTO.failure(i, HttpStatus.BAD_REQUEST, violation);
+                continue;
+            }
+            try {
+                var task = mapper.mapToModel(dto);
+                task.setTaskStatus(resolveStatus(statuses, dto.getStatus()));
+                if (dto.getAssigneeId() != null) {
+                    task.setAssignee(resolveAssignee(assignees, dto.getAssigneeId()));
+                }
+                task.setLabels(resolveLabels(labels, dto.getTaskLabelIds()));
+                created.put(i, task);
+            } catch (ResourceNotFoundException e) {
+                results[i] = TaskBatchResultDTO.failure(i, HttpStatus.NOT_FOUND, e.getMessage());
+            }
+        }
+
+        repository.saveAll(created.values());
+        created.forEach((i, task) -> results[i] = TaskBatchResultDTO.success(i, HttpStatus.CREATED,
+                mapper.mapToDTO(task)));
+        return Arrays.asList(results);
+    }
+
+    @Transactional
+    public List<TaskBatchResultDTO> updateAll(final List<TaskBatchUpdateDTO> dtos) {
+        checkSize(dtos);
+        var tasks = repository.findAllByIdIn(collect(dtos, TaskBatchUpdateDTO::getId)).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        var statuses = referenceDataCache.findTaskStatusesBySlugs(collect(dtos, dto ->
+                jsonNullableMapper.isPresent(dto.getStatus()) ? jsonNullableMapper.unwrap(dto.getStatus()) : null));
+        var assignees = findAssignees(collect(dtos, dto ->
+                jsonNullableMapper.isPresent(dto.getAssigneeId()) ? jsonNullableMapper.unwrap(dto.getAssigneeId())
+                        : null));
+        var labels = findLabels(dtos.stream().filter(Objects::nonNull).map(dto ->
+                jsonNullableMapper.isPresent(dto.getTaskLabelIds()) ? jsonNullableMapper.unwrap(dto.getTaskLabelIds())
+                        : null));
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(dtos.size());
+        for (var i = 0; i < dtos.size(); i++) {
+            var dto = dtos.get(i);
+            var violation = validate(dto);
+            if (violation != null) {
+                results.add(TaskBatchResultDTO.failure(i, HttpStatus.BAD_REQUEST, violation));
+                continue;
+            }
+            try {
+                var task = tasks.get(dto.getId());
+                if (task == null) {
+                    throw new ResourceNotFoundException(String.format("Task with id = %s not found", dto.getId()));
+                }
+                // Ссылки проверяются до изменения задачи: отклонённый элемент не должен менять её частично
+                var taskStatus = jsonNullableMapper.isPresent(dto.getStatus())
+                        ? resolveStatus(statuses, jsonNullableMapper.unwrap(dto.getStatus())) : task.getTaskStatus();
+                var assigneeId = jsonNullableMapper.isPresent(dto.getAssigneeId())
+                        ? jsonNullableMapper.unwrap(dto.getAssigneeId()) : null;
+                var assignee = assigneeId != null ? resolveAssignee(assignees, assigneeId) : null;
+                var taskLabels = jsonNullableMapper.isPresent(dto.getTaskLabelIds())
+                        ? resolveLabels(labels, jsonNullableMapper.unwrap(dto.getTaskLabelIds())) : task.getLabels();
+
+                mapper.updateModelFromDTO(dto, task);
+                task.setTaskStatus(taskStatus);
+                if (jsonNullableMapper.isPresent(dto.getAssigneeId())) {
+                    task.setAssignee(assignee);
+                }
+                task.setLabels(taskLabels);
+                results.add(TaskBatchResultDTO.success(i, HttpStatus.OK, mapper.mapToDTO(task)));
+            } catch (ResourceNotFoundException e) {
+                results.add(TaskBatchResultDTO.failure(i, HttpStatus.NOT_FOUND, e.getMessage()));
+            }
+        }
+        // Задачи управляемые: UPDATE уйдут пакетами при коммите
+        return results;
+    }
+
+    private void checkSize(final List<?> dtos) {
+        if (dtos.isEmpty() || dtos.size() > MAX_BATCH_SIZE) {
+            throw new RequestDataCannotBeProcessed(String.format("Пакет должен содержать от 1 до %s задач, передано %s",
+                    MAX_BATCH_SIZE, dtos.size()));
+        }
+    }
+
+    // null-элемент массива ([null]) - ошибка этого элемента, а не всего пакета
+    private String validate(final Object dto) {
+        if (dto == null) {
+            return "Validation failed: element must not be null";
+        }
+        var violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        var violation = violations.iterator().next();
+        return String.format("Validation failed: %s %s", violation.getPropertyPath(), violation.getMessage());
+    }
+
+    private static <T, R> Set<R> collect(final List<T> dtos, final Function<T, R> getter) {
+        return dtos.stream().filter(Objects::nonNull).map(getter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private Map<Long, User> findAssignees(final Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Map<Long, Label> findLabels(final Stream<? extends Collection<Long>> idSets) {
+        var ids = idSets.filter(Objects::nonNull).flatMap(Collection::stream).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return referenceDataCache.findLabelsByIds(ids).stream()
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+    }
+
+    private static TaskStatus resolveStatus(final Map<String, TaskStatus> statuses, final String slug) {
+        var taskStatus = statuses.get(slug);
+        if (taskStatus == null) {
+            throw new ResourceNotFoundException(String.format("Task status with slug = %s not found", slug));
+        }
+        return taskStatus;
+    }
+
+    private static User resolveAssignee(final Map<Long, User> assignees, final Long id) {
+        var assignee = assignees.get(id);
+        if (assignee == null) {
+            throw new ResourceNotFoundException(String.format("User-assignee with id = %s not found", id));
+        }
+        return assignee;
+    }
+
+    private static Set<Label> resolveLabels(final Map<Long, Label> labels, final Collection<Long> ids) {
+        Set<Label> result = new HashSet<>();
+        if (ids == null) {
+            return result;
+        }
+        for (var id : ids) {
+            var label = labels.get(id);
+            if (label == null) {
+                throw new ResourceNotFoundException(String.format("Label with id = %s not found", id));
+            }
+            result.add(label);
+        }
+        return result;
+    }
+}
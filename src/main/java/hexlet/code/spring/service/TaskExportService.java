@@ -0,0 +1,93 @@
+package hexlet.code.spring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.dto.task.TaskDTO;
+import hexlet.code.spring.dto.task.TaskView;
+import hexlet.code.spring.mapper.TaskMainMapper;
+import hexlet.code.spring.repository.TaskRepository;
+import hexlet.code.spring.specification.TaskSpecification;
+import hexlet.code.spring.util.TaskCsv;
+import hexlet.code.spring.util.TaskFileFormat;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Выгрузка всех задач, подходящих под фильтр GET /api/tasks. Проекции читаются курсором по CHUNK_SIZE строк,
+ * метки догружаются одним запросом на порцию, и каждая порция сразу пишется в ответ: расход памяти
+ * не зависит от размера выгрузки.
+ */
+@RequiredArgsConstructor
+@Service
+public class TaskExportService {
+    public static final int CHUNK_SIZE = 500;
+
+    @NonNull private final ObjectMapper om;
+    @NonNull private final TaskRepository repository;
+    @NonNull private final TaskMainMapper mapper;
+    @NonNull private final TaskSpecification specification;
+
+    // Порядок выгрузки - по id, чтобы повторная выгрузка давала те же строки в том же порядке
+    @Transactional(readOnly = true)
+    public void export(final Map<String, String> params, final TaskFileFormat format, final OutputStream out)
+            throws IOException {
+        var spec = specification.build(mapper.mapToParamDTO(params));
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        var rowWriter = format == TaskFileFormat.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+
+        try (var views = repository.streamViews(spec, Sort.by("id"), CHUNK_SIZE)) {
+            List<TaskView> chunk = new ArrayList<>(CHUNK_SIZE);
+            var iterator = views.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, rowWriter);
+                    chunk.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(final List<TaskView> chunk, final RowWriter rowWriter) throws IOException {
+        var labelIds = repository.findLabelIds(chunk.stream().map(TaskView::getId).toList());
+        for (var view : chunk) {
+            rowWriter.write(mapper.mapToDTO(view, labelIds.getOrDefault(view.getId(), new HashSet<>())));
+        }
+    }
+
+    private RowWriter ndjsonWriter(final BufferedWriter writer) {
+        var jsonWriter = om.writerFor(TaskDTO.class);
+        return dto -> {
+            writer.write(jsonWriter.writeValueAsString(dto));
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter csvWriter(final BufferedWriter writer) throws IOException {
+        writer.write(TaskCsv.header());
+        writer.write('\n');
+        return dto -> {
+            writer.write(TaskCsv.toLine(dto));
+            writer.write('\n');
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(TaskDTO dto) throws IOException;
+    }
+}
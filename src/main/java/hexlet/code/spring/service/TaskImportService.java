@@ -0,0 +1,290 @@
+package hexlet.code.spring.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.component.TaskImportProperties;
+import hexlet.code.spring.dto.task.TaskCreateDTO;
+import hexlet.code.spring.dto.task.TaskImportEventDTO;
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import hexlet.code.spring.mapper.TaskMainMapper;
+import hexlet.code.spring.model.Label;
+import hexlet.code.spring.model.Task;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.repository.TaskRepository;
+import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.util.TaskCsv;
+import hexlet.code.spring.util.TaskFileFormat;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковая загрузка задач из NDJSON или CSV. Файл читается построчно, каждая строка проверяется
+ * ограничениями TaskCreateDTO и копится в порцию из batchSize строк. Порция сохраняется в своей транзакции:
+ * статусы, метки и исполнители ищутся одним запросом на вид по ссылкам только этой порции, строки
+ * с ненайденными ссылками отклоняются, остальные сохраняются. Каждая транзакция получает собственный
+ * EntityManager, который закрывается вместе с ней: EntityManager запроса (open-in-view) на время загрузки
+ * отвязывается от потока и не накапливает задачи. Поэтому в памяти одновременно находится не больше одной
+ * порции. Ответ - NDJSON из TaskImportEventDTO: ошибки строк, прогресс после каждой порции и итог.
+ */
+@RequiredArgsConstructor
+@Service
+public class TaskImportService {
+
+    @NonNull private final ObjectMapper om;
+    @NonNull private final TaskRepository repository;
+    @NonNull private final UserRepository userRepository;
+    @NonNull private final ReferenceDataCache referenceDataCache;
+    @NonNull private final TaskMainMapper mapper;
+    @NonNull private final Validator validator;
+    @NonNull private final TransactionTemplate transactionTemplate;
+    @NonNull private final EntityManagerFactory entityManagerFactory;
+    @NonNull private final TaskImportProperties properties;
+
+    public void importTasks(final TaskFileFormat format, final InputStream in, final OutputStream out)
+            throws IOException {
+        var requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            importRows(format, in, out);
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+
+    private void importRows(final TaskFileFormat format, final InputStream in, final OutputStream out)
+            throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        var rows = format == TaskFileFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        var run = new ImportRun(writer);
+
+        List<PendingRow> batch = new ArrayList<>(properties.getBatchSize());
+        long rowNumber = 0;
+        RowSource.Row row;
+        while ((row = rows.next()) != null) {
+            rowNumber++;
+            run.processed++;
+            try {
+                var dto = row.parse();
+                var violation = validate(dto);
+                if (violation != null) {
+                    throw new IllegalArgumentException(violation);
+                }
+                batch.add(new PendingRow(rowNumber, dto));
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                run.fail(rowNumber, e.getMessage());
+            }
+
+            if (batch.size() == properties.getBatchSize()) {
+                save(batch, run);
+            }
+        }
+        save(batch, run);
+        run.write(TaskImportEventDTO.summary(run.processed, run.imported, run.failed));
+        writer.flush();
+    }
+
+    private void save(final List<PendingRow> batch, final ImportRun run) throws IOException {
+        if (!batch.isEmpty()) {
+            Map<Long, String> rejected = new LinkedHashMap<>();
+            try {
+                var saved = transactionTemplate.execute(status -> {
+                    var references = loadReferences(batch);
+                    List<Task> tasks = new ArrayList<>(batch.size());
+                    for (var pending : batch) {
+                        try {
+                            tasks.add(references.toTask(pending.dto()));
+                        } catch (IllegalArgumentException e) {
+                            rejected.put(pending.rowNumber(), e.getMessage());
+                        }
+                    }
+                    repository.saveAll(tasks);
+                    return tasks.size();
+                });
+                run.imported += saved;
+                for (var entry : rejected.entrySet()) {
+                    run.fail(entry.getKey(), entry.getValue());
+                }
+            } catch (DataAccessException e) {
+                // Порция откатывается целиком: все её строки считаются отклонёнными
+                for (var pending : batch) {
+                    run.fail(pending.rowNumber(), "Не удалось сохранить строку: " + e.getMostSpecificCause()
+                            .getMessage());
+                }
+            }
+            batch.clear();
+        }
+        run.write(TaskImportEventDTO.progress(run.processed, run.imported, run.failed));
+    }
+
+    private References loadReferences(final List<PendingRow> batch) {
+        Set<String> slugs = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> labelIds = new HashSet<>();
+        for (var pending : batch) {
+            var dto = pending.dto();
+            slugs.add(dto.getStatus());
+            if (dto.getAssigneeId() != null) {
+                userIds.add(dto.getAssigneeId());
+            }
+            if (dto.getTaskLabelIds() != null) {
+                dto.getTaskLabelIds().stream().filter(Objects::nonNull).forEach(labelIds::add);
+            }
+        }
+        return new References(
+                referenceDataCache.findTaskStatusesBySlugs(slugs),
+                labelIds.isEmpty() ? Map.of() : referenceDataCache.findLabelsByIds(labelIds).stream()
+                        .collect(Collectors.toMap(Label::getId, Function.identity())),
+                userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds));
+    }
+
+    private String validate(final TaskCreateDTO dto) {
+        var violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        var violation = violations.iterator().next();
+        return String.format("Validation failed: %s %s", violation.getPropertyPath(), violation.getMessage());
+    }
+
+    private RowSource ndjsonRows(final BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            var content = line;
+            return () -> om.readValue(content, TaskCreateDTO.class);
+        };
+    }
+
+    private RowSource csvRows(final BufferedReader reader) throws IOException {
+        var header = TaskCsv.readRecord(reader);
+        if (header == null || !header.contains("title") || !header.contains("status")) {
+            throw new RequestDataCannotBeProcessed("CSV должен начинаться со строки заголовка с колонками "
+                    + "title и status");
+        }
+        return () -> {
+            List<String> record;
+            do {
+                record = TaskCsv.readRecord(reader);
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            var fields = record;
+            return () -> TaskCsv.toCreateDTO(header, fields);
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        // null - конец файла
+        Row next() throws IOException;
+
+        @FunctionalInterface
+        interface Row {
+            TaskCreateDTO parse() throws JsonProcessingException;
+        }
+    }
+
+    private record PendingRow(long rowNumber, TaskCreateDTO dto) {
+    }
+
+    // Ссылки одной порции; живут только внутри ее транзакции
+    private final class References {
+        private final Map<String, TaskStatus> statuses;
+        private final Map<Long, Label> labels;
+        private final Set<Long> userIds;
+
+        References(final Map<String, TaskStatus> statusesD, final Map<Long, Label> labelsD,
+                   final Set<Long> userIdsD) {
+            this.statuses = statusesD;
+            this.labels = labelsD;
+            this.userIds = userIdsD;
+        }
+
+        Task toTask(final TaskCreateDTO dto) {
+            var taskStatus = statuses.get(dto.getStatus());
+            if (taskStatus == null) {
+                throw new IllegalArgumentException(String.format("Task status with slug = %s not found",
+                        dto.getStatus()));
+            }
+            if (dto.getAssigneeId() != null && !userIds.contains(dto.getAssigneeId())) {
+                throw new IllegalArgumentException(String.format("User-assignee with id = %s not found",
+                        dto.getAssigneeId()));
+            }
+            Set<Label> taskLabels = new HashSet<>();
+            if (dto.getTaskLabelIds() != null) {
+                for (var id : dto.getTaskLabelIds()) {
+                    var label = labels.get(id);
+                    if (label == null) {
+                        throw new IllegalArgumentException(String.format("Label with id = %s not found", id));
+                    }
+                    taskLabels.add(label);
+                }
+            }
+
+            var task = mapper.mapToModel(dto);
+            task.setTaskStatus(taskStatus);
+            if (dto.getAssigneeId() != null) {
+                task.setAssignee(userRepository.getReferenceById(dto.getAssigneeId()));
+            }
+            task.setLabels(taskLabels);
+            return task;
+        }
+    }
+
+    private final class ImportRun {
+        private final BufferedWriter writer;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportRun(final BufferedWriter writerD) {
+            this.writer = writerD;
+        }
+
+        void fail(final long rowNumber, final String message) throws IOException {
+            failed++;
+            if (failed <= properties.getMaxReportedErrors()) {
+                write(TaskImportEventDTO.error(rowNumber, message));
+            }
+        }
+
+        void write(final TaskImportEventDTO event) throws IOException {
+            writer.write(om.writeValueAsString(event));
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+}
@@ -1,33 +1,44 @@
 package hexlet.code.spring.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.component.TaskCounters;
+import hexlet.code.spring.config.MetricsConfig;
+import hexlet.code.spring.dto.CursorPageDTO;
 import hexlet.code.spring.dto.task.TaskCreateDTO;
 import hexlet.code.spring.dto.task.TaskDTO;
+import hexlet.code.spring.dto.task.TaskParamsDTO;
 import hexlet.code.spring.dto.task.TaskUpdateDTO;
+import hexlet.code.spring.dto.task.TaskView;
 import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
 import hexlet.code.spring.exception.ResourceNotFoundException;
 import hexlet.code.spring.mapper.JsonNullableMapper;
 import hexlet.code.spring.mapper.TaskMainMapper;
 import hexlet.code.spring.model.Task;
 import hexlet.code.spring.model.User;
-import hexlet.code.spring.repository.LabelRepository;
 import hexlet.code.spring.repository.TaskRepository;
-import hexlet.code.spring.repository.TaskStatusRepository;
 import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.specification.KeysetSpecification;
 import hexlet.code.spring.specification.TaskSpecification;
+import hexlet.code.spring.util.KeysetPageRequest;
+import hexlet.code.spring.util.OffsetPageRequest;
+import hexlet.code.spring.util.SortableFields;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 @Service
 public class TaskService {
@@ -35,26 +46,38 @@ public class TaskService {
     @NonNull private final ObjectMapper om;
     @NonNull private final TaskRepository repository;
     @NonNull private final UserRepository userRepository;
-    @NonNull private final TaskStatusRepository taskStatusRepository;
-    @NonNull private final LabelRepository labelRepository;
+    @NonNull private final ReferenceDataCache referenceDataCache;
     @NonNull private final TaskMainMapper mapper;
     @NonNull private final JsonNullableMapper jsonNullableMapper;
     @NonNull private final TaskSpecification specification;
+    @NonNull private final KeysetSpecification keysetSpecification;
+    @NonNull private final TaskCounters counters;
 
-    private final String rightOrder = "ASC";
-    private final String inverseOrder = "DESC";
+    private final SortableFields sortableFields = SortableFields.of("id", "name", "createdAt")
+            .withNullable("index", "description");
 
-    @Transactional
-    public List<TaskDTO> getAll(final Map<String, String> params) {
+    // Количество для X-Total-Count читается в той же транзакции и на том же соединении, что и выборка страницы
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getAll(final Map<String, String> params) {
         var paramsDTO = mapper.mapToParamDTO(params);
+        var pageable = offsetPage(paramsDTO);
         var spec = specification.build(paramsDTO);
 
-        return repository.findAll(spec).stream()
-                .sorted(getCompare(paramsDTO.getSortOrder(), paramsDTO.getSortField()))
-                .skip(paramsDTO.getStart())
-                .limit(paramsDTO.getEnd() - paramsDTO.getStart() + 1)
-                .map(mapper::mapToDTO)
-                .toList();
+        var content = toDTOs(repository.findViews(spec, specification.orderBy(paramsDTO), pageable));
+        return new PageImpl<>(content, pageable, count(paramsDTO, spec));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> scroll(final Map<String, String> params) {
+        var paramsDTO = mapper.mapToParamDTO(params);
+        var request = keysetPage(paramsDTO);
+        var filter = specification.build(paramsDTO);
+        Specification<Task> spec = filter.and(keysetSpecification.build(request));
+
+        var views = repository.findViews(spec, new OffsetPageRequest(0, request.getLimit(), request.toSort()));
+        // COUNT по фильтру только для первой страницы: на следующих клиент уже знает количество
+        Long totalCount = paramsDTO.getAfter() == null ? count(paramsDTO, filter) : null;
+        return new CursorPageDTO<>(toDTOs(views), request.nextCursor(views), totalCount);
     }
 
     @Transactional
@@ -70,7 +93,7 @@ public class TaskService {
 
         // Status
         var taskStatusSlug = dto.getStatus();
-        var taskStatus = taskStatusRepository.findBySlug(taskStatusSlug).orElseThrow(() ->
+        var taskStatus = referenceDataCache.findTaskStatusBySlug(taskStatusSlug).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Task with slug = %s not found", taskStatusSlug)));
         task.setTaskStatus(taskStatus);
 
@@ -85,7 +108,7 @@ public class TaskService {
         // Labels
         var ids = dto.getTaskLabelIds();
         if (ids != null && !ids.isEmpty()) {
-            var labels = labelRepository.findAllById(ids);
+            var labels = referenceDataCache.findLabelsByIds(ids);
             if (labels.size() != ids.size()) {
                 throw new ResourceNotFoundException("Some labels not found");
             }
@@ -105,7 +128,7 @@ public class TaskService {
         //Status
         if (jsonNullableMapper.isPresent(dto.getStatus())) {
             var taskStatusSlug = jsonNullableMapper.unwrap(dto.getStatus());
-            var taskStatus = taskStatusRepository.findBySlug(taskStatusSlug).orElseThrow(() ->
+            var taskStatus = referenceDataCache.findTaskStatusBySlug(taskStatusSlug).orElseThrow(() ->
                     new ResourceNotFoundException(String.format("Task status with slug"
                             + " = %s not found", taskStatusSlug)));
             task.setTaskStatus(taskStatus);
@@ -128,7 +151,7 @@ public class TaskService {
         if (jsonNullableMapper.isPresent(dto.getTaskLabelIds())) {
             var ids = jsonNullableMapper.unwrap(dto.getTaskLabelIds());
             if (ids != null && !ids.isEmpty()) {
-                var labels = labelRepository.findAllById(ids);
+                var labels = referenceDataCache.findLabelsByIds(ids);
                 if (labels.size() != ids.size()) {
                     throw new ResourceNotFoundException("Some labels in task not found");
                 }
@@ -138,7 +161,8 @@ public class TaskService {
             }
         }
 
-        repository.save(task);
+        // Задача управляемая и сохранится при коммите; save() вызвал бы merge с повторной загрузкой
+        // закэшированных статуса и меток
         return mapper.mapToDTO(task);
     }
 
@@ -154,35 +178,36 @@ public class TaskService {
         return repository.count();
     }
 
-    public long count(final Map<String, String> params) {
-        var paramsDTO = mapper.mapToParamDTO(params);
-        var spec = specification.build(paramsDTO);
-        return repository.findAll(spec).size();
+    // Без фильтров и с одним фильтром - счетчик из TaskCounters, иначе COUNT по задачам
+    private long count(final TaskParamsDTO paramsDTO, final Specification<Task> filter) {
+        return counters.count(paramsDTO).orElseGet(() -> repository.countDistinct(filter));
     }
 
-    private Comparator<Task> getCompare(final String order, final String sort) {
-        Map<String, Comparator<Task>> mapComparator = new HashMap<>();
-        mapComparator.put("index", Comparator.comparing(Task::getIndex, Comparator.nullsFirst(Integer::compareTo)));
-        mapComparator.put("id", Comparator.comparingLong(Task::getId));
-        mapComparator.put("name", Comparator.comparing(Task::getName));
-        mapComparator.put("description", Comparator.comparing(Task::getDescription,
-                Comparator.nullsFirst(String::compareTo)));
-        mapComparator.put("createdAt", Comparator.comparing(Task::getCreatedAt));
-
-        Map<String, Function<Comparator<Task>, Comparator<Task>>> mapOrder = new HashMap<>();
-        mapOrder.put(inverseOrder, Comparator::reversed);
-        mapOrder.put(rightOrder, comp -> comp);
-
-        if (!mapComparator.containsKey(sort)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указано некорректное поле сортировки = %s", sort));
-        }
-        if (!mapOrder.containsKey(order)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный порядок сортировки = %s", order));
+    private OffsetPageRequest offsetPage(final TaskParamsDTO paramsDTO) {
+        if (TaskSpecification.RELEVANCE.equals(paramsDTO.getSortField()) && paramsDTO.getTitleCont() == null) {
+            throw new RequestDataCannotBeProcessed("Сортировка по релевантности возможна только вместе с titleCont");
         }
+        return OffsetPageRequest.ofRange(paramsDTO.getStart(), paramsDTO.getEnd(),
+                getSort(paramsDTO.getSortOrder(), paramsDTO.getSortField()));
+    }
 
-        var comparator = mapComparator.get(sort);
-        var func = mapOrder.get(order);
+    private KeysetPageRequest keysetPage(final TaskParamsDTO paramsDTO) {
+        return KeysetPageRequest.of(paramsDTO.getAfter(), paramsDTO.getLimit(), paramsDTO.getSortOrder(),
+                paramsDTO.getSortField(), sortableFields);
+    }
 
-        return func.apply(comparator);
+    private List<TaskDTO> toDTOs(final List<TaskView> views) {
+        var labelIds = repository.findLabelIds(views.stream().map(TaskView::getId).toList());
+        return views.stream()
+                .map(view -> mapper.mapToDTO(view, labelIds.getOrDefault(view.getId(), new HashSet<>())))
+                .toList();
+    }
+
+    private Sort getSort(final String order, final String sort) {
+        if (TaskSpecification.RELEVANCE.equals(sort)) {
+            // Порядок по релевантности задает TaskSpecification.orderBy, здесь остается однозначность страниц
+            return Sort.by(sortableFields.direction(order), "id");
+        }
+        return sortableFields.toSort(order, sort);
     }
 }
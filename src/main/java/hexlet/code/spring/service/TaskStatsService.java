@@ -0,0 +1,132 @@
+package hexlet.code.spring.service;
+
+import hexlet.code.spring.component.TaskCounters;
+import hexlet.code.spring.dto.task.TaskCountersDTO;
+import hexlet.code.spring.dto.task.TaskStatsDTO;
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import hexlet.code.spring.mapper.TaskMainMapper;
+import hexlet.code.spring.model.Task;
+import hexlet.code.spring.model.TaskStatus;
+import hexlet.code.spring.repository.TaskRepository;
+import hexlet.code.spring.repository.TaskStatusRepository;
+import hexlet.code.spring.specification.TaskSpecification;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaExpression;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Сводные количества задач для дашбордов. Фильтры те же, что у GET /api/tasks, каждая разбивка - один
+ * запрос с GROUP BY, сущности не загружаются. getCounters без фильтров читает готовые значения TaskCounters
+ * без запросов к задачам.
+ */
+@RequiredArgsConstructor
+@Service
+public class TaskStatsService {
+    public static final String UNASSIGNED = "none";
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @NonNull private final TaskRepository repository;
+    @NonNull private final TaskStatusRepository taskStatusRepository;
+    @NonNull private final TaskCounters counters;
+    @NonNull private final TaskMainMapper mapper;
+    @NonNull private final TaskSpecification specification;
+
+    // interval - ширина интервала byCreatedDate: day, week или month
+    @Transactional(readOnly = true)
+    public TaskStatsDTO getStats(final Map<String, String> params, final String interval) {
+        var dateInterval = Interval.parse(interval);
+        var paramsDTO = mapper.mapToParamDTO(params);
+        var spec = specification.build(paramsDTO);
+
+        var byStatus = repository.countGroupedBy(spec, (root, cb) -> root.join("taskStatus").<String>get("slug"));
+        var byAssignee = repository.countGroupedBy(spec, (root, cb) -> root.get("assignee").<Long>get("id"));
+        var byLabel = repository.countGroupedBy(spec, (root, cb) -> root.join("labels").<Long>get("id"));
+
+        return new TaskStatsDTO(
+                byStatus.values().stream().mapToLong(Long::longValue).sum(),
+                byStatus,
+                toStringKeys(byAssignee, UNASSIGNED),
+                toStringKeys(byLabel, null),
+                countByCreatedDate(spec, dateInterval));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskCountersDTO getCounters() {
+        var slugs = taskStatusRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskStatus::getId, TaskStatus::getSlug));
+        long total = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byAssignee = new LinkedHashMap<>();
+        Map<String, Long> byLabel = new LinkedHashMap<>();
+        for (var counter : counters.getAll()) {
+            var id = counter.getId().getRefId();
+            var count = counter.getTaskCount();
+            switch (counter.getId().getDimension()) {
+                case TOTAL -> total = count;
+                case STATUS -> byStatus.put(Objects.toString(slugs.get(id), String.valueOf(id)), count);
+                case ASSIGNEE -> byAssignee.put(String.valueOf(id), count);
+                case LABEL -> byLabel.put(String.valueOf(id), count);
+                default -> throw new IllegalStateException(counter.getId().getDimension().name());
+            }
+        }
+        return new TaskCountersDTO(total, byStatus, byAssignee, byLabel);
+    }
+
+    // База группирует по дням, недели и месяцы собираются из дневных групп: усечение дат в SQL зависит от СУБД
+    private Map<String, Long> countByCreatedDate(final Specification<Task> spec, final Interval interval) {
+        var byDay = repository.countGroupedBy(spec, (root, cb) -> ((HibernateCriteriaBuilder) cb)
+                .cast((JpaExpression<LocalDateTime>) root.<LocalDateTime>get("createdAt"), LocalDate.class));
+
+        Map<LocalDate, Long> buckets = new TreeMap<>();
+        byDay.forEach((day, count) -> buckets.merge(interval.start(day), count, Long::sum));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        buckets.forEach((start, count) -> result.put(interval == Interval.MONTH ? MONTH.format(start)
+                : start.toString(), count));
+        return result;
+    }
+
+    private static Map<String, Long> toStringKeys(final Map<Long, Long> counts, final String nullKey) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((key, count) -> result.put(Objects.toString(key, nullKey), count));
+        return result;
+    }
+
+    private enum Interval {
+        DAY, WEEK, MONTH;
+
+        static Interval parse(final String interval) {
+            try {
+                return valueOf(interval.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RequestDataCannotBeProcessed(String.format("Указан неподдерживаемый интервал = %s. "
+                        + "Допустимые значения: day, week, month", interval));
+            }
+        }
+
+        LocalDate start(final LocalDate day) {
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+    }
+}
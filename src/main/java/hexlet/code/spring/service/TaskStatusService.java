@@ -1,5 +1,8 @@
 package hexlet.code.spring.service;
 
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.config.MetricsConfig;
+import hexlet.code.spring.dto.CursorPageDTO;
 import hexlet.code.spring.dto.taskstatus.TaskStatusCreateDTO;
 import hexlet.code.spring.dto.taskstatus.TaskStatusDTO;
 import hexlet.code.spring.dto.taskstatus.TaskStatusUpdateDTO;
@@ -11,17 +14,22 @@ import hexlet.code.spring.mapper.TaskStatusMainMapper;
 import hexlet.code.spring.model.TaskStatus;
 import hexlet.code.spring.repository.TaskRepository;
 import hexlet.code.spring.repository.TaskStatusRepository;
+import hexlet.code.spring.specification.KeysetSpecification;
+import hexlet.code.spring.util.KeysetPageRequest;
+import hexlet.code.spring.util.OffsetPageRequest;
+import hexlet.code.spring.util.SortableFields;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
 
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Service
 @RequiredArgsConstructor
 public class TaskStatusService {
@@ -30,27 +38,37 @@ public class TaskStatusService {
     @NonNull private final TaskRepository taskRepository;
     @NonNull private final TaskStatusMainMapper mapper;
     @NonNull private final JsonNullableMapper jsonNullableMapper;
+    @NonNull private final KeysetSpecification keysetSpecification;
+    @NonNull private final ReferenceDataCache referenceDataCache;
 
-    private final String rightOrder = "ASC";
-    private final String inverseOrder = "DESC";
+    private final SortableFields sortableFields = SortableFields.of("id", "name", "slug", "createdAt");
 
-    public final List<TaskStatusDTO> getAll(final long start, final long end, final String order, final String sort) {
-        return repository.findAll().stream()
-                .sorted(getCompare(order, sort))
-                .skip(start)
-                .limit(end - start + 1)
-                .map(mapper::mapToDTO)
-                .toList();
+    public Page<TaskStatusDTO> getAll(final long start, final long end, final String order, final String sort) {
+        var pageable = OffsetPageRequest.ofRange(start, end, sortableFields.toSort(order, sort));
+        return repository.findAll(pageable).map(mapper::mapToDTO);
     }
 
-    public final TaskStatusDTO findById(final Long id) {
+    public CursorPageDTO<TaskStatusDTO> scroll(final String after, final Integer limit, final String order,
+                                               final String sort) {
+        var request = KeysetPageRequest.of(after, limit, order, sort, sortableFields);
+        Specification<TaskStatus> spec = keysetSpecification.build(request);
+        List<TaskStatus> taskStatuses = repository.findBy(spec, query -> query.sortBy(request.toSort())
+                .limit(request.getLimit())
+                .all());
+        return new CursorPageDTO<>(taskStatuses.stream().map(mapper::mapToDTO).toList(),
+                request.nextCursor(taskStatuses));
+    }
+
+    public TaskStatusDTO findById(final Long id) {
         var taskStatus = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Task status with id = %s not found", id)));
         return mapper.mapToDTO(taskStatus);
     }
 
-    public final TaskStatusDTO create(@Valid final TaskStatusCreateDTO dto) {
+    @Transactional
+    public TaskStatusDTO create(@Valid final TaskStatusCreateDTO dto) {
         var slug = dto.getSlug();
+        // Уникальность проверяется по базе: кэш справочников обслуживает только ссылки из задач
         if (repository.existsBySlug(slug)) {
             throw new RequestDataCannotBeProcessed(String.format("Slug должен быть уникальным. "
                     + "В базе уже есть статус задачи со slug = %s", slug));
@@ -58,10 +76,12 @@ public class TaskStatusService {
 
         var taskStatus = mapper.mapToModel(dto);
         repository.save(taskStatus);
+        referenceDataCache.evictTaskStatuses();
         return mapper.mapToDTO(taskStatus);
     }
 
-    public final TaskStatusDTO update(@Valid final TaskStatusUpdateDTO dto, final Long id) {
+    @Transactional
+    public TaskStatusDTO update(@Valid final TaskStatusUpdateDTO dto, final Long id) {
         var taskStatus = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Task status with id = %s not found", id)));
 
@@ -75,10 +95,12 @@ public class TaskStatusService {
 
         mapper.updateModelFromDTO(dto, taskStatus);
         repository.save(taskStatus);
+        referenceDataCache.evictTaskStatuses();
         return mapper.mapToDTO(taskStatus);
     }
 
-    public final void delete(final Long id) {
+    @Transactional
+    public void delete(final Long id) {
         var taskStatus = repository.findById(id);
         if (taskStatus.isEmpty()) {
             throw new ResourceNotFoundException(String.format("Task status with id = %s not found", id));
@@ -90,33 +112,10 @@ public class TaskStatusService {
         }
 
         repository.deleteById(id);
+        referenceDataCache.evictTaskStatuses();
     }
 
-    public final long count() {
+    public long count() {
         return repository.count();
     }
-
-    private Comparator<TaskStatus> getCompare(final String order, final String sort) {
-        Map<String, Comparator<TaskStatus>> mapComparator = new HashMap<>();
-        mapComparator.put("id", Comparator.comparingLong(TaskStatus::getId));
-        mapComparator.put("name", Comparator.comparing(TaskStatus::getName));
-        mapComparator.put("slug", Comparator.comparing(TaskStatus::getSlug));
-        mapComparator.put("createdAt", Comparator.comparing(TaskStatus::getCreatedAt));
-
-        Map<String, Function<Comparator<TaskStatus>, Comparator<TaskStatus>>> mapOrder = new HashMap<>();
-        mapOrder.put(inverseOrder, Comparator::reversed);
-        mapOrder.put(rightOrder, comp -> comp);
-
-        if (!mapComparator.containsKey(sort)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указано некорректное поле сортировки = %s", sort));
-        }
-        if (!mapOrder.containsKey(order)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный порядок сортировки = %s", order));
-        }
-
-        var comparator = mapComparator.get(sort);
-        var func = mapOrder.get(order);
-
-        return func.apply(comparator);
-    }
 }
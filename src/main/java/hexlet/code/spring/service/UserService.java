@@ -1,5 +1,8 @@
 package hexlet.code.spring.service;
 
+import hexlet.code.spring.component.VerifiedCredentialCache;
+import hexlet.code.spring.config.MetricsConfig;
+import hexlet.code.spring.dto.CursorPageDTO;
 import hexlet.code.spring.dto.user.UserCreateDTO;
 import hexlet.code.spring.dto.user.UserDTO;
 import hexlet.code.spring.dto.user.UserUpdateDTO;
@@ -11,18 +14,25 @@ import hexlet.code.spring.mapper.UserMainMapper;
 import hexlet.code.spring.model.User;
 import hexlet.code.spring.repository.TaskRepository;
 import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.specification.KeysetSpecification;
+import hexlet.code.spring.util.AfterCommit;
+import hexlet.code.spring.util.KeysetPageRequest;
+import hexlet.code.spring.util.OffsetPageRequest;
+import hexlet.code.spring.util.SortableFields;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
 
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Service
 @RequiredArgsConstructor
 public class UserService {
@@ -32,26 +42,36 @@ public class UserService {
     @NonNull private final UserMainMapper mapper;
     @NonNull private final JsonNullableMapper jsonNullableMapper;
     @NonNull private final PasswordEncoder encoder;
+    @NonNull private final KeysetSpecification keysetSpecification;
+    @NonNull private final UserCache userCache;
+    @NonNull private final VerifiedCredentialCache verifiedCredentialCache;
+    @NonNull private final RefreshTokenService refreshTokenService;
 
-    private final String rightOrder = "ASC";
-    private final String inverseOrder = "DESC";
+    private final SortableFields sortableFields = SortableFields.of("id", "email", "createdAt")
+            .withNullable("firstName", "lastName");
 
-    public final List<UserDTO> getAll(final long start, final long end, final String order, final String sort) {
-        return repository.findAll().stream()
-                .sorted(getCompare(order, sort))
-                .skip(start)
-                .limit(end - start + 1)
-                .map(mapper::mapToDTO)
-                .toList();
+    public Page<UserDTO> getAll(final long start, final long end, final String order, final String sort) {
+        var pageable = OffsetPageRequest.ofRange(start, end, sortableFields.toSort(order, sort));
+        return repository.findAll(pageable).map(mapper::mapToDTO);
     }
 
-    public final UserDTO findById(final Long id) {
+    public CursorPageDTO<UserDTO> scroll(final String after, final Integer limit, final String order,
+                                         final String sort) {
+        var request = KeysetPageRequest.of(after, limit, order, sort, sortableFields);
+        Specification<User> spec = keysetSpecification.build(request);
+        List<User> users = repository.findBy(spec, query -> query.sortBy(request.toSort())
+                .limit(request.getLimit())
+                .all());
+        return new CursorPageDTO<>(users.stream().map(mapper::mapToDTO).toList(), request.nextCursor(users));
+    }
+
+    public UserDTO findById(final Long id) {
         var user = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id = %s not found", id)));
         return mapper.mapToDTO(user);
     }
 
-    public final UserDTO create(final UserCreateDTO dto) {
+    public UserDTO create(final UserCreateDTO dto) {
         var email = dto.getEmail();
         if (repository.existsByEmail(email)) {
             throw new RequestDataCannotBeProcessed(String.format("Email должен быть уникальным. "
@@ -66,7 +86,9 @@ public class UserService {
         return mapper.mapToDTO(user);
     }
 
-    public final UserDTO update(@Valid final UserUpdateDTO dto, final Long id) {
+    // Отзыв refresh-токенов и новый пароль фиксируются вместе: при ошибке сохранения токены остаются
+    @Transactional
+    public UserDTO update(@Valid final UserUpdateDTO dto, final Long id) {
         var user = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id = %s not found", id)));
 
@@ -78,17 +100,31 @@ public class UserService {
             }
         }
 
+        var previousEmail = user.getEmail();
         mapper.updateModelFromDTO(dto, user);
 
-        if (jsonNullableMapper.isPresent(dto.getPassword())) {
+        var previousPasswordDigest = user.getPasswordDigest();
+        var passwordChanged = jsonNullableMapper.isPresent(dto.getPassword());
+        if (passwordChanged) {
             user.setPasswordDigest(encoder.encode(jsonNullableMapper.unwrap(dto.getPassword())));
         }
 
         repository.save(user);
+        if (passwordChanged) {
+            refreshTokenService.revokeAll(user);
+        }
+        // Сбрасываем записи по прежним email и паролю после коммита, иначе параллельный вход успеет
+        // положить в кэш ещё не изменённого пользователя
+        AfterCommit.run(() -> {
+            userCache.removeUserFromCache(previousEmail);
+            if (passwordChanged) {
+                verifiedCredentialCache.evict(previousPasswordDigest);
+            }
+        });
         return mapper.mapToDTO(user);
     }
 
-    public final void delete(final Long id) {
+    public void delete(final Long id) {
         var user = repository.findById(id);
         if (user.isEmpty()) {
             throw new ResourceNotFoundException(String.format("User with id = %s not found", id));
@@ -101,36 +137,11 @@ public class UserService {
         }
 
         repository.deleteById(id);
+        userCache.removeUserFromCache(user.get().getEmail());
+        verifiedCredentialCache.evict(user.get().getPasswordDigest());
     }
 
-    public final long count() {
+    public long count() {
         return repository.count();
     }
-
-    private Comparator<User> getCompare(final String order, final String sort) {
-        Map<String, Comparator<User>> mapComparator = new HashMap<>();
-        mapComparator.put("id", Comparator.comparingLong(User::getId));
-        mapComparator.put("email", Comparator.comparing(User::getEmail));
-        mapComparator.put("firstName", Comparator.comparing(User::getFirstName,
-                Comparator.nullsFirst(String::compareTo)));
-        mapComparator.put("lastName", Comparator.comparing(User::getLastName,
-                Comparator.nullsFirst(String::compareTo)));
-        mapComparator.put("createdAt", Comparator.comparing(User::getCreatedAt));
-
-        Map<String, Function<Comparator<User>, Comparator<User>>> mapOrder = new HashMap<>();
-        mapOrder.put(inverseOrder, Comparator::reversed);
-        mapOrder.put(rightOrder, comp -> comp);
-
-        if (!mapComparator.containsKey(sort)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указано некорректное поле сортировки = %s", sort));
-        }
-        if (!mapOrder.containsKey(order)) {
-            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный порядок сортировки = %s", order));
-        }
-
-        var comparator = mapComparator.get(sort);
-        var func = mapOrder.get(order);
-
-        return func.apply(comparator);
-    }
 }
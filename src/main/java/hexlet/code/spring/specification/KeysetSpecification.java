@@ -0,0 +1,58 @@
+package hexlet.code.spring.specification;
+
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import hexlet.code.spring.util.KeysetPageRequest;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Component
+public class KeysetSpecification {
+    // (field, id) > (value, lastId) для ASC и < для DESC
+    public <T> Specification<T> build(final KeysetPageRequest request) {
+        return (root, query, cb) -> {
+            if (!request.hasCursor()) {
+                return cb.conjunction();
+            }
+            var ascending = request.getDirection().isAscending();
+            Path<Long> id = root.get("id");
+            var idPredicate = compare(cb, id, request.getAfterId(), ascending);
+            if ("id".equals(request.getSortField())) {
+                return idPredicate;
+            }
+
+            Path<?> field = root.get(request.getSortField());
+            var value = convert(field.getJavaType(), request.getAfterValue());
+            return cb.or(compare(cb, field, value, ascending),
+                    cb.and(cb.equal(field, value), idPredicate));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate compare(final CriteriaBuilder cb, final Path path, final Comparable value,
+                              final boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    private Comparable<?> convert(final Class<?> type, final String value) {
+        try {
+            if (LocalDateTime.class.equals(type)) {
+                return LocalDateTime.parse(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Integer.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            return value;
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RequestDataCannotBeProcessed(String.format("Некорректное значение курсора = %s", value));
+        }
+    }
+}
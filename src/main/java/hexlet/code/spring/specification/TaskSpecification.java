@@ -2,11 +2,22 @@ package hexlet.code.spring.specification;
 
 import hexlet.code.spring.dto.task.TaskParamsDTO;
 import hexlet.code.spring.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+import java.util.function.BiFunction;
+
 @Component
 public class TaskSpecification {
+    public static final String RELEVANCE = "relevance";
+
+    private static final char LIKE_ESCAPE = '\\';
+
     public Specification<Task> build(final TaskParamsDTO params) {
         return withTitleCont(params.getTitleCont())
                 .and(withAssegneeId(params.getAssigneeId()))
@@ -14,9 +25,34 @@ public class TaskSpecification {
                 .and(withLabelId(params.getLabelId()));
     }
 
+    /*
+     * Первичный порядок страницы по близости к строке поиска для _sort=relevance, иначе null. Передается
+     * только в запрос страницы (TaskRepositoryCustom.findViews), фильтр и подсчеты его не содержат.
+     */
+    public BiFunction<Root<Task>, CriteriaBuilder, Order> orderBy(final TaskParamsDTO params) {
+        var titleCont = params.getTitleCont();
+        if (!RELEVANCE.equals(params.getSortField()) || titleCont == null) {
+            return null;
+        }
+        var descending = "DESC".equals(params.getSortOrder());
+        return (root, cb) -> {
+            var relevance = cb.function("greatest", Double.class,
+                    similarity(cb, root.get("name"), titleCont),
+                    similarity(cb, cb.coalesce(root.<String>get("description"), ""), titleCont));
+            return descending ? cb.desc(relevance) : cb.asc(relevance);
+        };
+    }
+
+    // Регистронезависимый поиск подстроки в названии и описании; в Postgres его обслуживают триграммные индексы
     private Specification<Task> withTitleCont(final String titleCont) {
-        return (root, query, cb) -> titleCont == null
-                ? cb.conjunction() : cb.like(root.get("name"), "%" + titleCont + "%");
+        return (root, query, cb) -> {
+            if (titleCont == null) {
+                return cb.conjunction();
+            }
+            var pattern = "%" + escapeLike(titleCont.toLowerCase(Locale.ROOT)) + "%";
+            return cb.or(cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+        };
     }
 
     private Specification<Task> withAssegneeId(final Long assegneeId) {
@@ -33,4 +69,15 @@ public class TaskSpecification {
         return (root, query, cb) -> labelId == null
                 ? cb.conjunction() : cb.equal(root.join("labels").get("id"), labelId);
     }
+
+    private Expression<Double> similarity(final CriteriaBuilder cb, final Expression<String> field,
+                                          final String text) {
+        return cb.function("similarity", Double.class, field, cb.literal(text));
+    }
+
+    private String escapeLike(final String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
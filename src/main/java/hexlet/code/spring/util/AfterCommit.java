@@ -0,0 +1,26 @@
+package hexlet.code.spring.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Сброс кэшей после коммита текущей транзакции: сброс до коммита дал бы параллельному запросу снова
+ * закэшировать старое значение. Без транзакции действие выполняется сразу, при откате - не выполняется.
+ */
+public final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    public static void run(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
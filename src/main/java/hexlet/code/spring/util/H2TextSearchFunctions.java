@@ -0,0 +1,44 @@
+package hexlet.code.spring.util;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Функции, которые миграция db/vendor/h2 регистрирует в H2 вместо расширения pg_trgm.
+ */
+public final class H2TextSearchFunctions {
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private H2TextSearchFunctions() { }
+
+    // Как в pg_trgm: доля общих триграмм слов, дополненных двумя пробелами слева и одним справа
+    public static double similarity(final String left, final String right) {
+        if (left == null || right == null) {
+            return 0;
+        }
+        var leftTrigrams = trigrams(left);
+        var rightTrigrams = trigrams(right);
+        if (leftTrigrams.isEmpty() || rightTrigrams.isEmpty()) {
+            return 0;
+        }
+
+        var common = new HashSet<>(leftTrigrams);
+        common.retainAll(rightTrigrams);
+        return (double) common.size() / (leftTrigrams.size() + rightTrigrams.size() - common.size());
+    }
+
+    private static Set<String> trigrams(final String text) {
+        Set<String> result = new HashSet<>();
+        for (var word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            var padded = "  " + word + " ";
+            for (int i = 0; i + TRIGRAM_LENGTH <= padded.length(); i++) {
+                result.add(padded.substring(i, i + TRIGRAM_LENGTH));
+            }
+        }
+        return result;
+    }
+}
@@ -1,10 +1,12 @@
 package hexlet.code.spring.util;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 
+import hexlet.code.spring.component.JwtKeyProperties;
+import hexlet.code.spring.component.TokenProperties;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -15,15 +17,20 @@ import org.springframework.stereotype.Component;
 public final class JWTUtils {
 
     @NonNull private final JwtEncoder encoder;
+    @NonNull private final TokenProperties properties;
+    @NonNull private final JwtKeyProperties jwtKeys;
 
     public String generateToken(final String username) {
         Instant now = Instant.now();
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .expiresAt(now.plus(properties.getAccessTokenTtl()))
                 .subject(username)
                 .build();
-        return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        // kid в заголовке позволяет проверять токен нужным ключом после ротации
+        var activeKey = jwtKeys.findActiveKey();
+        JwsHeader header = JwsHeader.with(JwtKeys.algorithm(activeKey.getType())).keyId(activeKey.getKid()).build();
+        return this.encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
     }
 }
@@ -0,0 +1,149 @@
+package hexlet.code.spring.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import hexlet.code.spring.component.JwtKeyProperties.KeyType;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Построение JWK, JwtEncoder и JwtDecoder для ключей RSA (RS256), EC P-256 (ES256) и Ed25519 (EdDSA).
+ */
+public final class JwtKeys {
+    // В Spring Security нет константы для EdDSA, Nimbus разбирает алгоритм по имени
+    public static final JwsAlgorithm EDDSA = () -> JWSAlgorithm.EdDSA.getName();
+
+    // Допустимое расхождение часов при проверке exp и nbf, как у JwtTimestampValidator по умолчанию.
+    // Тот же допуск применяют CachingJwtDecoder к попаданиям в кэш и срок жизни записей кэша jwts
+    public static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    // Открытый ключ Ed25519 в X.509 - 12 байт заголовка и 32 байта ключа
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private JwtKeys() {
+    }
+
+    public static JwsAlgorithm algorithm(final KeyType type) {
+        return switch (type) {
+            case RSA -> SignatureAlgorithm.RS256;
+            case EC -> SignatureAlgorithm.ES256;
+            case ED25519 -> EDDSA;
+        };
+    }
+
+    public static JWK toJwk(final String kid, final KeyType type, final PublicKey publicKey,
+                            final PrivateKey privateKey) {
+        var algorithm = JWSAlgorithm.parse(algorithm(type).getName());
+        return switch (type) {
+            case RSA -> new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .privateKey((RSAPrivateKey) privateKey)
+                    .keyID(kid).algorithm(algorithm).build();
+            case EC -> new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey)
+                    .privateKey((ECPrivateKey) privateKey)
+                    .keyID(kid).algorithm(algorithm).build();
+            case ED25519 -> {
+                var encoded = publicKey.getEncoded();
+                var x = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+                var builder = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x));
+                if (privateKey != null) {
+                    var d = ((EdECPrivateKey) privateKey).getBytes().orElseThrow(() ->
+                            new IllegalArgumentException(String.format("Закрытый ключ %s недоступен", kid)));
+                    builder.d(Base64URL.encode(d));
+                }
+                yield builder.keyID(kid).algorithm(algorithm).build();
+            }
+        };
+    }
+
+    public static JwtEncoder encoder(final JWK signingKey) {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+    }
+
+    // Токен с kid проверяется соответствующим ключом, без kid (выданные до ротации) - всеми ключами его алгоритма
+    public static JwtDecoder decoder(final List<JWK> keys) {
+        return decoder(keys, Clock.systemUTC());
+    }
+
+    public static JwtDecoder decoder(final List<JWK> keys, final Clock clock) {
+        var algorithms = new HashSet<JWSAlgorithm>();
+        keys.forEach(key -> algorithms.add((JWSAlgorithm) key.getAlgorithm()));
+        var publicKeys = new JWKSet(keys).toPublicJWKSet();
+
+        var processor = new DefaultJWTProcessor<SecurityContext>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, new ImmutableJWKSet<>(publicKeys)));
+        // Сроки и прочие claims проверяют валидаторы Spring Security, как в NimbusJwtDecoder.withPublicKey
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        var timestampValidator = new JwtTimestampValidator(CLOCK_SKEW);
+        timestampValidator.setClock(clock);
+        var decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithValidators(timestampValidator));
+        return decoder;
+    }
+
+    public static PublicKey readPublicKey(final Resource resource, final KeyType type) {
+        try {
+            return keyFactory(type).generatePublic(new X509EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(String.format("Некорректный открытый ключ %s", resource), e);
+        }
+    }
+
+    public static PrivateKey readPrivateKey(final Resource resource, final KeyType type) {
+        try {
+            return keyFactory(type).generatePrivate(new PKCS8EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(String.format("Некорректный закрытый ключ %s", resource), e);
+        }
+    }
+
+    private static KeyFactory keyFactory(final KeyType type) throws GeneralSecurityException {
+        return KeyFactory.getInstance(type == KeyType.ED25519 ? "Ed25519" : type.name());
+    }
+
+    private static byte[] readPem(final Resource resource) {
+        try {
+            var pem = resource.getContentAsString(StandardCharsets.US_ASCII);
+            var base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Не удалось прочитать ключ %s", resource), e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Параметры постраничного вывода по курсору (_after/_limit). Курсор хранит поле и направление сортировки,
+ * значение этого поля и id последней строки страницы, поэтому следующая страница выбирается условием
+ * WHERE, а не OFFSET.
+ * <p>
+ * Курсор не подписан: это base64 от открытого текста, и клиент может его изменить. Подделка меняет только
+ * позицию начала страницы. Поле и направление должны совпадать с _sort/_order запроса (белый список
+ * SortableFields), id должен быть числом, значение приводится к типу поля в KeysetSpecification и передается
+ * параметром запроса; иначе ответ 400. Фильтры и права доступа берутся из самого запроса, а не из курсора.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetPageRequest {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 1000;
+    private static final String SEPARATOR = "\n";
+    private static final int CURSOR_PARTS = 4;
+    // Части курсора: поле сортировки, направление, id последней строки, значение поля сортировки
+    private static final int SORT_PART = 0;
+    private static final int DIRECTION_PART = 1;
+    private static final int ID_PART = 2;
+    private static final int VALUE_PART = 3;
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final int limit;
+    private final Long afterId;
+    private final String afterValue;
+
+    public static KeysetPageRequest of(final String after, final Integer limit, final String order,
+                                       final String sort, final SortableFields sortableFields) {
+        if (!sortableFields.isKeysetField(sort)) {
+            throw new RequestDataCannotBeProcessed(String.format("Поле сортировки = %s не поддерживается "
+                    + "при выводе по курсору", sort));
+        }
+        var direction = sortableFields.direction(order);
+
+        var pageLimit = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MAX_LIMIT) {
+            throw new RequestDataCannotBeProcessed(String.format("Параметр _limit должен быть от 1 до %s",
+                    MAX_LIMIT));
+        }
+
+        if (after == null) {
+            return new KeysetPageRequest(sort, direction, pageLimit, null, null);
+        }
+        var parts = decode(after);
+        if (!parts[SORT_PART].equals(sort) || !parts[DIRECTION_PART].equals(direction.name())) {
+            throw new RequestDataCannotBeProcessed("Курсор получен для другой сортировки");
+        }
+        return new KeysetPageRequest(sort, direction, pageLimit, Long.valueOf(parts[ID_PART]), parts[VALUE_PART]);
+    }
+
+    public boolean hasCursor() {
+        return afterId != null;
+    }
+
+    public Sort toSort() {
+        return SortableFields.byFieldAndId(direction, sortField);
+    }
+
+    /**
+     * Курсор следующей страницы или null, если страница заполнена не полностью.
+     * Строки должны иметь свойства id и sortField (сущности или проекции с теми же именами).
+     */
+    public String nextCursor(final List<?> rows) {
+        if (rows.size() < limit) {
+            return null;
+        }
+        var last = new BeanWrapperImpl(rows.get(rows.size() - 1));
+        var raw = String.join(SEPARATOR, sortField, direction.name(),
+                String.valueOf(last.getPropertyValue("id")), String.valueOf(last.getPropertyValue(sortField)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(final String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR, CURSOR_PARTS);
+            if (parts.length != CURSOR_PARTS) {
+                throw new IllegalArgumentException("Wrong number of cursor parts");
+            }
+            Long.parseLong(parts[ID_PART]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RequestDataCannotBeProcessed(String.format("Некорректный курсор = %s", cursor));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.dto.CursorPageDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Ответ списка при выводе по курсору (KeysetPageRequest): строки страницы, X-Total-Count, если количество
+ * посчитано (только на первой странице, без _after), и X-Next-Cursor, если страница заполнена и за ней
+ * могут быть еще строки.
+ */
+public final class KeysetPageResponse {
+    private KeysetPageResponse() {
+    }
+
+    public static <T> ResponseEntity<List<T>> of(final CursorPageDTO<T> page, final Long totalCount) {
+        var response = ResponseEntity.ok();
+        if (totalCount != null) {
+            response.header("X-Total-Count", String.valueOf(totalCount));
+        }
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPageRequest.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable с произвольным смещением: react-admin передает _start/_end, которые не обязаны
+ * совпадать с границами страниц, поэтому PageRequest здесь не подходит.
+ */
+@EqualsAndHashCode
+@ToString
+public final class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int limit;
+    private final Sort sort;
+
+    public OffsetPageRequest(final long offsetD, final int limitD, final Sort sortD) {
+        if (offsetD < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limitD < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.offset = offsetD;
+        this.limit = limitD;
+        this.sort = sortD == null ? Sort.unsorted() : sortD;
+    }
+
+    /**
+     * Границы _start и _end включительные, как и в прежней реализации через skip/limit.
+     * Смещение в JPA-запросе передается как int, поэтому обе границы не больше Integer.MAX_VALUE.
+     */
+    public static OffsetPageRequest ofRange(final long start, final long end, final Sort sort) {
+        if (start < 0 || end < start || end > Integer.MAX_VALUE || end - start >= Integer.MAX_VALUE) {
+            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный диапазон выборки: "
+                    + "_start = %s, _end = %s", start, end));
+        }
+        return new OffsetPageRequest(start, (int) (end - start + 1), sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + limit, limit, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - limit), limit, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, limit, sort);
+    }
+
+    @Override
+    public Pageable withPage(final int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * limit, limit, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,57 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Белый список полей сортировки списка (имена совпадают с атрибутами сущности) и перевод
+ * _sort/_order в ORDER BY. Поля, которые могут содержать null, доступны только для вывода
+ * по смещению (_start/_end), но не по курсору.
+ */
+public final class SortableFields {
+    private static final String ID = "id";
+    private static final String ASC = "ASC";
+    private static final String DESC = "DESC";
+
+    private final Set<String> nonNullFields;
+    private final Set<String> nullableFields;
+
+    private SortableFields(final Set<String> nonNullFieldsD, final Set<String> nullableFieldsD) {
+        this.nonNullFields = nonNullFieldsD;
+        this.nullableFields = nullableFieldsD;
+    }
+
+    public static SortableFields of(final String... nonNullFields) {
+        return new SortableFields(Set.of(nonNullFields), Set.of());
+    }
+
+    public SortableFields withNullable(final String... fields) {
+        return new SortableFields(nonNullFields, Set.of(fields));
+    }
+
+    public boolean isKeysetField(final String sort) {
+        return nonNullFields.contains(sort);
+    }
+
+    public Sort.Direction direction(final String order) {
+        if (!ASC.equals(order) && !DESC.equals(order)) {
+            throw new RequestDataCannotBeProcessed(String.format("Указан некорректный порядок сортировки = %s", order));
+        }
+        return Sort.Direction.fromString(order);
+    }
+
+    public Sort toSort(final String order, final String sort) {
+        if (!nonNullFields.contains(sort) && !nullableFields.contains(sort)) {
+            throw new RequestDataCannotBeProcessed(String.format("Указано некорректное поле сортировки = %s", sort));
+        }
+        return byFieldAndId(direction(order), sort);
+    }
+
+    // Сортировка по id делает порядок строк однозначным, иначе OFFSET может пропускать или повторять строки
+    public static Sort byFieldAndId(final Sort.Direction direction, final String field) {
+        var sort = Sort.by(direction, field);
+        return ID.equals(field) ? sort : sort.and(Sort.by(direction, ID));
+    }
+}
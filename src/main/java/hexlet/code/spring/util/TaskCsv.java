@@ -0,0 +1,129 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.dto.task.TaskCreateDTO;
+import hexlet.code.spring.dto.task.TaskDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CSV-представление задачи для выгрузки и загрузки (RFC 4180: поля с запятой, кавычкой или переводом строки
+ * берутся в кавычки). Метки перечисляются через пробел в одном поле.
+ */
+public final class TaskCsv {
+    public static final List<String> COLUMNS = List.of("id", "title", "index", "content", "status", "assignee_id",
+            "createdAt", "taskLabelIds");
+
+    private TaskCsv() {
+    }
+
+    public static String header() {
+        return String.join(",", COLUMNS);
+    }
+
+    public static String toLine(final TaskDTO dto) {
+        var labelIds = dto.getTaskLabelIds() == null ? "" : dto.getTaskLabelIds().stream().sorted()
+                .map(String::valueOf).collect(Collectors.joining(" "));
+        return String.join(",",
+                escape(dto.getId()),
+                escape(dto.getTitle()),
+                escape(dto.getIndex()),
+                escape(dto.getContent()),
+                escape(dto.getStatus()),
+                escape(dto.getAssigneeId()),
+                escape(dto.getCreatedAt()),
+                escape(labelIds));
+    }
+
+    /**
+     * Читает следующую запись, в том числе занимающую несколько строк из-за перевода строки в кавычках.
+     * Возвращает null в конце потока.
+     */
+    public static List<String> readRecord(final BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        var quoted = false;
+        var c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    var next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Колонки id и createdAt при загрузке игнорируются: их назначает приложение
+    public static TaskCreateDTO toCreateDTO(final List<String> header, final List<String> record) {
+        if (record.size() != header.size()) {
+            throw new IllegalArgumentException(String.format("Ожидалось полей: %s, получено: %s",
+                    header.size(), record.size()));
+        }
+        var dto = new TaskCreateDTO();
+        for (var i = 0; i < header.size(); i++) {
+            var value = record.get(i).isEmpty() ? null : record.get(i);
+            switch (header.get(i)) {
+                case "title" -> dto.setTitle(value);
+                case "index" -> dto.setIndex(value == null ? null : parseNumber(value, Integer::valueOf, "index"));
+                case "content" -> dto.setContent(value);
+                case "status" -> dto.setStatus(value);
+                case "assignee_id" -> dto.setAssigneeId(value == null ? null
+                        : parseNumber(value, Long::valueOf, "assignee_id"));
+                case "taskLabelIds" -> dto.setTaskLabelIds(value == null ? null
+                        : Arrays.stream(value.trim().split("\\s+"))
+                                .map(id -> parseNumber(id, Long::valueOf, "taskLabelIds"))
+                                .collect(Collectors.toSet()));
+                default -> {
+                    // Остальные колонки (id, createdAt и неизвестные) пропускаются
+                }
+            }
+        }
+        return dto;
+    }
+
+    private static <T> T parseNumber(final String value, final Function<String, T> parser, final String column) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Некорректное число в колонке %s: %s", column, value));
+        }
+    }
+
+    private static String escape(final Object value) {
+        var text = Objects.toString(value, "");
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.exception.RequestDataCannotBeProcessed;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+// Форматы выгрузки и загрузки задач (/api/tasks/export, /api/tasks/import)
+@Getter
+@RequiredArgsConstructor
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static TaskFileFormat parse(final String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RequestDataCannotBeProcessed(String.format("Указан неподдерживаемый формат файла = %s. "
+                    + "Допустимые значения: ndjson, csv", format));
+        }
+    }
+}
@@ -1,25 +0,0 @@
-package hexlet.code.spring.util;
-
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
-
-import hexlet.code.spring.model.User;
-import hexlet.code.spring.repository.UserRepository;
-
-@Component
-@RequiredArgsConstructor
-public final class UserUtils {
-
-    @NonNull private final UserRepository userRepository;
-
-    public User getCurrentUser() {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-        var email = authentication.getName();
-        return userRepository.findByEmail(email).orElse(null);
-    }
-}
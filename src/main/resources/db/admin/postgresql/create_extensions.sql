@@ -0,0 +1,5 @@
+-- Расширения PostgreSQL, которые нужны миграциям приложения.
+-- Выполняется один раз владельцем базы или DBA до первого запуска приложения:
+--   psql -d <база> -f create_extensions.sql
+-- Каталог не входит в spring.flyway.locations, поэтому роли приложения права CREATE на базу не нужны.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
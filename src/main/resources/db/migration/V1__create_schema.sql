@@ -0,0 +1,39 @@
+-- Базовая схема. IF NOT EXISTS позволяет применить миграцию к базам, созданным ранее через ddl-auto: update
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_digest VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS task_statuses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    slug VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS labels (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(1000) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    index INTEGER,
+    description VARCHAR(255),
+    status_id BIGINT NOT NULL REFERENCES task_statuses (id),
+    user_id BIGINT REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS task_label (
+    task_id BIGINT NOT NULL REFERENCES tasks (id),
+    label_id BIGINT NOT NULL REFERENCES labels (id),
+    PRIMARY KEY (task_id, label_id)
+);
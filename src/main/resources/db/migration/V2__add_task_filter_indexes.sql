@@ -0,0 +1,11 @@
+-- Фильтры TaskSpecification: исполнитель, статус, метка.
+-- Второй столбец id совпадает с сортировкой по умолчанию и с добавочной сортировкой в TaskService.getSort
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status_id, id);
+CREATE INDEX IF NOT EXISTS idx_task_label_label_id ON task_label (label_id, task_id);
+
+-- Поля сортировки списка задач (_sort)
+CREATE INDEX IF NOT EXISTS idx_tasks_name ON tasks (name, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_index ON tasks (index, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_description ON tasks (description, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at, id);
@@ -0,0 +1,5 @@
+-- Вывод по курсору сортирует по (поле, id); для tasks такие индексы созданы в V2,
+-- уникальные email/name/slug уже проиндексированы ограничениями
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_labels_created_at ON labels (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_statuses_created_at ON task_statuses (created_at, id);
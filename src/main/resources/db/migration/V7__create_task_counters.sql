@@ -0,0 +1,17 @@
+-- Счетчики задач для X-Total-Count и GET /api/tasks/counters (см. TaskCounters): всего, по статусу, исполнителю
+-- и метке. Дальше их меняет транзакция, которая меняет задачи; здесь они заполняются по текущим данным
+CREATE TABLE task_counters (
+    dimension VARCHAR(16) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (dimension, ref_id)
+);
+
+INSERT INTO task_counters (dimension, ref_id, task_count)
+    SELECT 'TOTAL', 0, COUNT(*) FROM tasks;
+INSERT INTO task_counters (dimension, ref_id, task_count)
+    SELECT 'STATUS', status_id, COUNT(*) FROM tasks GROUP BY status_id;
+INSERT INTO task_counters (dimension, ref_id, task_count)
+    SELECT 'ASSIGNEE', user_id, COUNT(*) FROM tasks WHERE user_id IS NOT NULL GROUP BY user_id;
+INSERT INTO task_counters (dimension, ref_id, task_count)
+    SELECT 'LABEL', label_id, COUNT(*) FROM task_label GROUP BY label_id;
@@ -0,0 +1,90 @@
+package hexlet.code.spring.component;
+
+import hexlet.code.spring.util.JwtKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class CachingJwtDecoderTest {
+
+    private final String token = "header.payload.signature";
+    private final Instant issuedAt = Instant.parse("2026-01-01T00:00:00Z");
+    private final Instant expiresAt = issuedAt.plus(1, ChronoUnit.HOURS);
+
+    private JwtDecoder delegate;
+    private ConcurrentMapCache cache;
+    private Jwt jwt;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(JwtDecoder.class);
+        cache = new ConcurrentMapCache("jwts");
+        jwt = Jwt.withTokenValue(token).header("alg", "RS256").subject("user@example.com")
+                .issuedAt(issuedAt).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    public void testHitSkipsDelegate() {
+        when(delegate.decode(token)).thenReturn(jwt);
+        var decoder = decoderAt(issuedAt);
+
+        assertSame(jwt, decoder.decode(token));
+        assertSame(jwt, decoder.decode(token));
+
+        verify(delegate, times(1)).decode(token);
+    }
+
+    @Test
+    public void testHitIsServedWithinClockSkew() {
+        when(delegate.decode(token)).thenReturn(jwt);
+        decoderAt(issuedAt).decode(token);
+
+        assertSame(jwt, decoderAt(expiresAt.plus(JwtKeys.CLOCK_SKEW)).decode(token));
+
+        verify(delegate, times(1)).decode(token);
+    }
+
+    @Test
+    public void testEntryIsNotServedPastExpiration() {
+        when(delegate.decode(token)).thenReturn(jwt).thenThrow(new BadJwtException("Jwt expired"));
+        decoderAt(issuedAt).decode(token);
+
+        var decoder = decoderAt(expiresAt.plus(JwtKeys.CLOCK_SKEW).plusSeconds(1));
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+
+        verify(delegate, times(2)).decode(token);
+        assertTrue(cache.getNativeCache().isEmpty());
+    }
+
+    @Test
+    public void testInvalidTokenIsNotCached() {
+        when(delegate.decode(token)).thenThrow(new BadJwtException("Invalid signature"));
+        var decoder = decoderAt(issuedAt);
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+
+        verify(delegate, times(2)).decode(token);
+        assertTrue(cache.getNativeCache().isEmpty());
+    }
+
+    private CachingJwtDecoder decoderAt(final Instant now) {
+        return new CachingJwtDecoder(delegate, cache, Clock.fixed(now, ZoneOffset.UTC), JwtKeys.CLOCK_SKEW);
+    }
+}
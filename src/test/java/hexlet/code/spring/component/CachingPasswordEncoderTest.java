@@ -0,0 +1,84 @@
+package hexlet.code.spring.component;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class CachingPasswordEncoderTest {
+
+    private final String password = "qwerty";
+    private final String digest = "{bcrypt}$2a$10$digest";
+
+    private PasswordEncoder delegate;
+    private ConcurrentMapCache cache;
+    private VerifiedCredentialCache verifiedCredentials;
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        cache = new ConcurrentMapCache("verifiedCredentials");
+        verifiedCredentials = new VerifiedCredentialCache(cache);
+        encoder = new CachingPasswordEncoder(delegate, verifiedCredentials);
+    }
+
+    @Test
+    public void testHitSkipsDelegate() {
+        when(delegate.matches(password, digest)).thenReturn(true);
+
+        assertTrue(encoder.matches(password, digest));
+        assertTrue(encoder.matches(password, digest));
+
+        verify(delegate, times(1)).matches(password, digest);
+    }
+
+    @Test
+    public void testWrongPasswordIsNeverCached() {
+        when(delegate.matches("wrong", digest)).thenReturn(false);
+
+        assertFalse(encoder.matches("wrong", digest));
+        assertFalse(encoder.matches("wrong", digest));
+
+        verify(delegate, times(2)).matches("wrong", digest);
+        assertNull(cache.get(digest));
+    }
+
+    @Test
+    public void testCachedEntryDoesNotAcceptOtherPassword() {
+        when(delegate.matches(password, digest)).thenReturn(true);
+        encoder.matches(password, digest);
+
+        assertFalse(encoder.matches("wrong", digest));
+        verify(delegate, times(1)).matches("wrong", digest);
+    }
+
+    @Test
+    public void testPasswordChangeEvicts() {
+        when(delegate.matches(password, digest)).thenReturn(true);
+        encoder.matches(password, digest);
+
+        // Так сбрасывают запись UserService и CustomUserDetailsService при смене пароля
+        verifiedCredentials.evict(digest);
+
+        assertFalse(verifiedCredentials.isVerified(password, digest));
+        assertTrue(encoder.matches(password, digest));
+        verify(delegate, times(2)).matches(password, digest);
+    }
+
+    @Test
+    public void testNewDigestIsNotVerified() {
+        verifiedCredentials.markVerified(password, digest);
+
+        assertTrue(verifiedCredentials.isVerified(password, digest));
+        assertFalse(verifiedCredentials.isVerified(password, "{bcrypt}$2a$10$other"));
+    }
+}
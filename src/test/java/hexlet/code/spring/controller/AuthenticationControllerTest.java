@@ -0,0 +1,206 @@
+package hexlet.code.spring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.config.CacheConfig;
+import hexlet.code.spring.dto.AuthRequest;
+import hexlet.code.spring.dto.RefreshRequest;
+import hexlet.code.spring.dto.TokenDTO;
+import hexlet.code.spring.model.User;
+import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.util.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public final class AuthenticationControllerTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper om;
+    private final UserRepository userRepository;
+    private final PasswordEncoder encoder;
+    private final TestUtils testUtils;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    private User user;
+
+    private final String email = "refresh@example.com";
+    private final String password = "qwerty";
+
+    @Autowired
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public AuthenticationControllerTest(@NonNull final MockMvc mockMvcD, @NonNull final ObjectMapper omD,
+                                        @NonNull final UserRepository userRepositoryD,
+                                        @NonNull final PasswordEncoder encoderD,
+                                        @NonNull final TestUtils testUtilsD,
+                                        @NonNull final EntityManagerFactory entityManagerFactoryD,
+                                        @NonNull final CacheManager cacheManagerD,
+                                        @NonNull final MeterRegistry meterRegistryD) {
+        this.mockMvc = mockMvcD;
+        this.om = omD;
+        this.userRepository = userRepositoryD;
+        this.encoder = encoderD;
+        this.testUtils = testUtilsD;
+        this.entityManagerFactory = entityManagerFactoryD;
+        this.cacheManager = cacheManagerD;
+        this.meterRegistry = meterRegistryD;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        testUtils.clearAllRepository();
+
+        user = new User();
+        user.setEmail(email);
+        user.setPasswordDigest(encoder.encode(password));
+        userRepository.save(user);
+    }
+
+    @Test
+    public void testRefreshRotatesToken() throws Exception {
+        var authRequest = new AuthRequest();
+        authRequest.setUsername(email);
+        authRequest.setPassword(password);
+        var issued = perform("/api/token", authRequest);
+        assertNotNull(issued.getAccessToken());
+        assertNotNull(issued.getRefreshToken());
+
+        var refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(issued.getRefreshToken());
+        var refreshed = perform("/api/token/refresh", refreshRequest);
+        assertNotEquals(issued.getRefreshToken(), refreshed.getRefreshToken());
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + refreshed.getAccessToken()))
+                .andExpect(status().isOk());
+
+        // Использованный токен повторно не принимается
+        mockMvc.perform(post("/api/token/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testPasswordChangeRevokesRefreshTokens() throws Exception {
+        var authRequest = new AuthRequest();
+        authRequest.setUsername(email);
+        authRequest.setPassword(password);
+        var issued = perform("/api/token", authRequest);
+
+        mockMvc.perform(put("/api/users/" + user.getId()).with(jwt()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"password\": \"changed\"}"))
+                .andExpect(status().isOk());
+
+        var refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(issued.getRefreshToken());
+        mockMvc.perform(post("/api/token/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/task_statuses").with(httpBasic(email, password)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRefreshUnknownToken() throws Exception {
+        var refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken("unknown");
+
+        mockMvc.perform(post("/api/token/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testBasicAuthLoadsUserOncePerCacheEntry() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var basic = httpBasic(email, password);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/task_statuses").with(basic)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/task_statuses").with(basic)).andExpect(status().isOk());
+        assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+
+        mockMvc.perform(put("/api/users/" + user.getId()).with(jwt()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(get("/api/task_statuses").with(basic)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/task_statuses").with(basic)).andExpect(status().isOk());
+        assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+
+        // Из кэша пришёл бы удалённый пользователь с верным паролем, поэтому 401 означает запрос в базу
+        mockMvc.perform(delete("/api/users/" + user.getId()).with(jwt())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/task_statuses").with(basic)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testJwtCachePublishesHitsAndMisses() throws Exception {
+        var authRequest = new AuthRequest();
+        authRequest.setUsername(email);
+        authRequest.setPassword(password);
+        var bearer = "Bearer " + perform("/api/token", authRequest).getAccessToken();
+        var hits = jwtCacheGets("hit");
+        var misses = jwtCacheGets("miss");
+
+        mockMvc.perform(get("/api/users").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header("Authorization", bearer)).andExpect(status().isOk());
+
+        assertEquals(misses + 1, jwtCacheGets("miss"));
+        assertEquals(hits + 1, jwtCacheGets("hit"));
+    }
+
+    @Test
+    public void testJwtCacheDropsExpiredToken() {
+        var cache = cacheManager.getCache(CacheConfig.JWTS);
+        var now = Instant.now();
+        var expired = Jwt.withTokenValue("expired").header("alg", "RS256").subject(email)
+                .issuedAt(now.minus(2, ChronoUnit.HOURS)).expiresAt(now.minus(1, ChronoUnit.HOURS)).build();
+
+        cache.put("expired", expired);
+
+        assertNull(cache.get("expired"));
+    }
+
+    private double jwtCacheGets(final String result) {
+        return meterRegistry.get("cache.gets").tag("cache", CacheConfig.JWTS).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private TokenDTO perform(final String path, final Object body) throws Exception {
+        var responseBody = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readValue(responseBody, TokenDTO.class);
+    }
+}
@@ -0,0 +1,90 @@
+package hexlet.code.spring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.component.PasswordHashProperties;
+import hexlet.code.spring.dto.AuthRequest;
+import hexlet.code.spring.model.User;
+import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.util.TestUtils;
+import lombok.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Стоимость выше тестовой минимальной: иначе нет более слабого bcrypt-хэша, который нужно пересчитать
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"app.password.bcrypt-strength=5", "app.password.pbkdf2-iterations=1000"})
+public final class PasswordRehashControllerTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper om;
+    private final UserRepository userRepository;
+    private final PasswordHashProperties passwordHash;
+    private final TestUtils testUtils;
+
+    private final String password = "qwerty";
+    private final int saltLength = 16;
+
+    @Autowired
+    public PasswordRehashControllerTest(@NonNull final MockMvc mockMvcD, @NonNull final ObjectMapper omD,
+                                        @NonNull final UserRepository userRepositoryD,
+                                        @NonNull final PasswordHashProperties passwordHashD,
+                                        @NonNull final TestUtils testUtilsD) {
+        this.mockMvc = mockMvcD;
+        this.om = omD;
+        this.userRepository = userRepositoryD;
+        this.passwordHash = passwordHashD;
+        this.testUtils = testUtilsD;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        testUtils.clearAllRepository();
+    }
+
+    @Test
+    public void testPbkdf2HashIsRehashedOnLogin() throws Exception {
+        var pbkdf2 = new Pbkdf2PasswordEncoder("", saltLength, passwordHash.getPbkdf2Iterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        assertRehashedOnLogin("pbkdf2@example.com", "{pbkdf2}" + pbkdf2.encode(password));
+    }
+
+    @Test
+    public void testWeakerBcryptHashIsRehashedOnLogin() throws Exception {
+        var weaker = new BCryptPasswordEncoder(passwordHash.getBcryptStrength() - 1);
+        assertRehashedOnLogin("bcrypt@example.com", "{bcrypt}" + weaker.encode(password));
+    }
+
+    private void assertRehashedOnLogin(final String email, final String seededDigest) throws Exception {
+        var user = new User();
+        user.setEmail(email);
+        user.setPasswordDigest(seededDigest);
+        userRepository.save(user);
+
+        var authRequest = new AuthRequest();
+        authRequest.setUsername(email);
+        authRequest.setPassword(password);
+        mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(authRequest)))
+                .andExpect(status().isOk());
+
+        var digest = userRepository.findByEmail(email).orElseThrow().getPasswordDigest();
+        var expectedPrefix = String.format("{bcrypt}$2a$%02d$", passwordHash.getBcryptStrength());
+        assertThat(digest).isNotEqualTo(seededDigest).startsWith(expectedPrefix);
+        assertThat(new BCryptPasswordEncoder().matches(password, digest.substring("{bcrypt}".length()))).isTrue();
+    }
+}
@@ -2,6 +2,9 @@ package hexlet.code.spring.controller.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.component.SqlBudgetFilter;
+import hexlet.code.spring.component.SqlBudgetProperties;
+import hexlet.code.spring.component.TaskImportProperties;
 import hexlet.code.spring.dto.task.TaskCreateDTO;
 import hexlet.code.spring.dto.task.TaskDTO;
 import hexlet.code.spring.mapper.TaskMainMapper;
@@ -12,29 +15,45 @@ import hexlet.code.spring.repository.LabelRepository;
 import hexlet.code.spring.repository.TaskRepository;
 import hexlet.code.spring.repository.TaskStatusRepository;
 import hexlet.code.spring.repository.UserRepository;
+import hexlet.code.spring.service.TaskBatchService;
 import hexlet.code.spring.service.TaskService;
 import hexlet.code.spring.util.ModelGenerator;
 import hexlet.code.spring.util.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.NonNull;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static hexlet.code.spring.util.SqlStatementMatchers.sqlStatementsAtMost;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -43,6 +62,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -61,6 +81,11 @@ public class TaskControllerTest {
     private final TaskService service;
     private final TestUtils testUtils;
     private final LabelRepository labelRepository;
+    private final SqlBudgetFilter sqlBudgetFilter;
+    private final TaskImportProperties importProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final SqlBudgetProperties sqlBudgetProperties;
 
     private MockMvc mockMvc;
     private SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor token;
@@ -68,6 +93,13 @@ public class TaskControllerTest {
     private Task testTask;
     private Label testLabel;
     private final String basePath = "/api/tasks";
+    // Задач сверх testTask в тестах страниц
+    private final int extraTaskCount = 3;
+    // Страница задач со статусами и исполнителями, метки страницы и счетчик или COUNT для X-Total-Count
+    private final int indexStatementCount = 3;
+    // Строк в тестах загрузки по порциям: порций несколько, последняя неполная
+    private final int importRowCount = 5;
+    private final int importBatchSize = 2;
 
     @Autowired
     @SuppressWarnings("checkstyle:ParameterNumber")
@@ -76,7 +108,12 @@ public class TaskControllerTest {
                               @NonNull final TaskStatusRepository taskStatusRepositoryD,
                               @NonNull final ModelGenerator modelGeneratorD,
                               @NonNull final ObjectMapper omD, @NonNull final TaskService serviceD,
-                              @NonNull final TestUtils testUtilsD, @NonNull final LabelRepository labelRepositoryD) {
+                              @NonNull final TestUtils testUtilsD, @NonNull final LabelRepository labelRepositoryD,
+                              @NonNull final SqlBudgetFilter sqlBudgetFilterD,
+                              @NonNull final TaskImportProperties importPropertiesD,
+                              @NonNull final EntityManagerFactory entityManagerFactoryD,
+                              @NonNull final PlatformTransactionManager transactionManagerD,
+                              @NonNull final SqlBudgetProperties sqlBudgetPropertiesD) {
         this.wac = wacD;
         this.mapper = mapperD;
         this.repository = repositoryD;
@@ -87,6 +124,11 @@ public class TaskControllerTest {
         this.service = serviceD;
         this.testUtils = testUtilsD;
         this.labelRepository = labelRepositoryD;
+        this.sqlBudgetFilter = sqlBudgetFilterD;
+        this.importProperties = importPropertiesD;
+        this.entityManagerFactory = entityManagerFactoryD;
+        this.transactionManager = transactionManagerD;
+        this.sqlBudgetProperties = sqlBudgetPropertiesD;
     }
 
     @BeforeEach
@@ -94,7 +136,7 @@ public class TaskControllerTest {
         testUtils.clearAllRepository();
 
         mockMvc = MockMvcBuilders.webAppContextSetup(wac).defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
-                .apply(springSecurity()).build();
+                .addFilters(sqlBudgetFilter).apply(springSecurity()).build();
 
         testUser = Instancio.of(modelGenerator.getUserModel()).create();
         userRepository.save(testUser);
@@ -250,6 +292,195 @@ public class TaskControllerTest {
         });
         assertTrue(tasksDTOS.isEmpty());
     }
+    @Test
+    public void testIndexSuccessSortedPage() throws Exception {
+        for (int i = 0; i < extraTaskCount; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            repository.save(task);
+        }
+
+        var request = get(basePath).with(token).queryParam("_sort", "id")
+                .queryParam("_order", "DESC").queryParam("_start", "1")
+                .queryParam("_end", "2");
+        var response = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+        List<TaskDTO> tasksDTOS = om.readValue(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        var actual = tasksDTOS.stream().map(TaskDTO::getId).toList();
+        var expected = repository.findAll().stream().map(Task::getId)
+                .sorted(Comparator.reverseOrder()).skip(1).limit(2).toList();
+        Assertions.assertThat(actual).containsExactlyElementsOf(expected);
+        assertEquals(String.valueOf(extraTaskCount + 1), response.getHeader("X-Total-Count"));
+    }
+
+    @Test
+    public void testIndexQueryCountDoesNotDependOnPageSize() throws Exception {
+        var taskCount = extraTaskCount + 2;
+        for (int i = 0; i < taskCount; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            task.setAssignee(testUser);
+            task.addLabel(testLabel);
+            repository.save(task);
+        }
+
+        var request = get(basePath).with(token).queryParam("_start", "0").queryParam("_end", "9");
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(indexStatementCount))
+                .andReturn().getResponse().getContentAsString();
+        List<TaskDTO> tasksDTOS = om.readValue(responseBody, new TypeReference<>() {
+        });
+
+        assertEquals(taskCount + 1, tasksDTOS.size());
+        Assertions.assertThat(tasksDTOS).allSatisfy(dto -> assertEquals(Set.of(testLabel.getId()),
+                dto.getTaskLabelIds()));
+    }
+
+    @Test
+    public void testFilteredIndexCountsCountQuery() throws Exception {
+        var taskCount = extraTaskCount + 2;
+        for (int i = 0; i < taskCount; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            task.setAssignee(testUser);
+            task.addLabel(testLabel);
+            repository.save(task);
+        }
+
+        var request = get(basePath).with(token).queryParam("_start", "0").queryParam("_end", "9")
+                .queryParam("assigneeId", String.valueOf(testUser.getId()))
+                .queryParam("labelId", String.valueOf(testLabel.getId()));
+        // К странице и меткам добавляется COUNT в той же транзакции
+        var response = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(indexStatementCount))
+                .andReturn().getResponse();
+        assertEquals(String.valueOf(indexStatementCount), response.getHeader("X-Sql-Statements"));
+        assertEquals(String.valueOf(taskCount), response.getHeader("X-Total-Count"));
+    }
+
+    @Test
+    public void testIndexForgedCursorOnlyMovesStart() throws Exception {
+        var otherTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        otherTask.setTaskStatus(testTask.getTaskStatus());
+        otherTask.setAssignee(null);
+        repository.save(otherTask);
+        testTask.setAssignee(testUser);
+        repository.save(testTask);
+
+        // Курсор с id = 0 указывает на начало списка, но фильтр запроса по-прежнему действует
+        var forged = encodeCursor("id\nASC\n0\n0");
+        var responseBody = mockMvc.perform(get(basePath).with(token).queryParam("_after", forged)
+                        .queryParam("assigneeId", String.valueOf(testUser.getId())))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        List<TaskDTO> tasksDTOS = om.readValue(responseBody, new TypeReference<>() {
+        });
+        Assertions.assertThat(tasksDTOS).extracting(TaskDTO::getId).containsExactly(testTask.getId());
+
+        mockMvc.perform(get(basePath).with(token).queryParam("_sort", "createdAt")
+                        .queryParam("_after", encodeCursor("createdAt\nASC\n0\nnot-a-date")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(basePath).with(token).queryParam("_sort", "description")
+                        .queryParam("_after", encodeCursor("description\nASC\n0\nx")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testIndexSearchInDescription() throws Exception {
+        var task = Instancio.of(modelGenerator.getTaskModel()).create();
+        task.setTaskStatus(testTask.getTaskStatus());
+        task.setDescription("Needs a Searchable_Word inside");
+        repository.save(task);
+
+        var request = get(basePath).with(token).param("titleCont", "searchable_word");
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString();
+        List<TaskDTO> tasksDTOS = om.readValue(responseBody, new TypeReference<>() {
+        });
+
+        var actual = tasksDTOS.stream().map(TaskDTO::getId).toList();
+        Assertions.assertThat(actual).containsExactly(task.getId());
+    }
+
+    @Test
+    public void testIndexSortByRelevance() throws Exception {
+        var names = List.of("quarterly report draft", "report");
+        for (var name : names) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            task.setName(name);
+            task.setDescription(null);
+            repository.save(task);
+        }
+
+        var request = get(basePath).with(token).param("titleCont", "report")
+                .queryParam("_sort", "relevance").queryParam("_order", "DESC");
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString();
+        List<TaskDTO> tasksDTOS = om.readValue(responseBody, new TypeReference<>() {
+        });
+
+        var actual = tasksDTOS.stream().map(TaskDTO::getTitle).toList();
+        Assertions.assertThat(actual).containsExactly("report", "quarterly report draft");
+
+        // Порядок по релевантности есть только в запросе страницы: COUNT и /stats строятся без него
+        var totalCount = mockMvc.perform(request).andReturn().getResponse().getHeader("X-Total-Count");
+        assertEquals(String.valueOf(names.size()), totalCount);
+        var stats = mockMvc.perform(get(basePath + "/stats").with(token).param("titleCont", "report")
+                        .queryParam("_sort", "relevance"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(stats).inPath("$.total").isEqualTo(names.size());
+
+        var requestWithoutSearch = get(basePath).with(token).queryParam("_sort", "relevance");
+        mockMvc.perform(requestWithoutSearch).andExpect(status().isBadRequest());
+
+        // Параметры проверяются до COUNT: составной фильтр с некорректной сортировкой не обращается к базе
+        var filteredWithoutSearch = get(basePath).with(token).queryParam("_sort", "relevance")
+                .queryParam("assigneeId", String.valueOf(testUser.getId()))
+                .queryParam("labelId", String.valueOf(testLabel.getId()));
+        mockMvc.perform(filteredWithoutSearch).andExpect(status().isBadRequest())
+                .andExpect(sqlStatementsAtMost(0));
+    }
+
+    @Test
+    public void testIndexCursorPages() throws Exception {
+        for (int i = 0; i < extraTaskCount; i++) {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            repository.save(task);
+        }
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get(basePath).with(token).queryParam("_sort", "name").queryParam("_limit", "2");
+            if (cursor != null) {
+                request.queryParam("_after", cursor);
+            }
+            var response = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+            List<TaskDTO> tasksDTOS = om.readValue(response.getContentAsString(), new TypeReference<>() {
+            });
+            tasksDTOS.forEach(dto -> actual.add(dto.getId()));
+            // Количество отдается только на первой странице
+            var expectedTotal = cursor == null ? String.valueOf(extraTaskCount + 1) : null;
+            assertEquals(expectedTotal, response.getHeader("X-Total-Count"));
+            cursor = response.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        var expected = repository.findAll().stream()
+                .sorted(Comparator.comparing(Task::getName).thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+        Assertions.assertThat(actual).containsExactlyElementsOf(expected);
+
+        var wrongCursor = get(basePath).with(token).queryParam("_limit", "2").queryParam("_after", "zzz");
+        mockMvc.perform(wrongCursor).andExpect(status().isBadRequest());
+        mockMvc.perform(get(basePath).with(token).queryParam("_limit", "ten")).andExpect(status().isBadRequest());
+        mockMvc.perform(get(basePath).with(token).queryParam("_limit", "3000000000"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testIndexFailtureAll() throws Exception {
         var request1 = get(basePath).with(token).queryParam("_sort", "i")
@@ -261,6 +492,10 @@ public class TaskControllerTest {
                 .queryParam("_order", "AS").queryParam("_start", "0")
                 .queryParam("_end", "25");
         var responseBody2 = mockMvc.perform(request2).andExpect(status().isBadRequest());
+
+        var request3 = get(basePath).with(token).queryParam("_start", "3000000000")
+                .queryParam("_end", "3000000001");
+        mockMvc.perform(request3).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -299,6 +534,307 @@ public class TaskControllerTest {
         mockMvc.perform(request).andExpect(status().isNotFound());
     }
 
+    @Test
+    public void testCreateBatch() throws Exception {
+        var dtoFailture = getTaskCreateDTO();
+        dtoFailture.setStatus("unknown-status");
+        var dtos = List.of(getTaskCreateDTO(), dtoFailture, getTaskCreateDTO());
+        var countBefore = repository.count();
+
+        var request = post(basePath + "/batch").with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(dtos));
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThatJson(responseBody).inPath("$[*].status").isArray().containsExactly(HttpStatus.CREATED.value(),
+                HttpStatus.NOT_FOUND.value(), HttpStatus.CREATED.value());
+        assertThatJson(responseBody).inPath("$[0].task.title").isEqualTo(dtos.get(0).getTitle());
+        assertEquals(countBefore + 2, repository.count());
+    }
+
+    @Test
+    public void testCreateBatchWithNullElement() throws Exception {
+        var body = String.format("[null, %s]", om.writeValueAsString(getTaskCreateDTO()));
+
+        var request = post(basePath + "/batch").with(token).contentType(MediaType.APPLICATION_JSON).content(body);
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThatJson(responseBody).inPath("$[*].status").isArray().containsExactly(HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.CREATED.value());
+        mockMvc.perform(patch(basePath + "/batch").with(token).contentType(MediaType.APPLICATION_JSON)
+                        .content("[null]"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testCreateMaxBatchStaysWithinSqlBudget() throws Exception {
+        var dtos = new ArrayList<TaskCreateDTO>();
+        for (var i = 0; i < TaskBatchService.MAX_BATCH_SIZE; i++) {
+            var dto = new TaskCreateDTO();
+            dto.setTitle("Batch task " + i);
+            dto.setStatus(testTask.getTaskStatus().getSlug());
+            dto.setAssigneeId(testUser.getId());
+            dto.setTaskLabelIds(Set.of(testLabel.getId()));
+            dtos.add(dto);
+        }
+        var budget = sqlBudgetProperties.getBudgets().get("POST /api/tasks/batch");
+
+        var request = post(basePath + "/batch").with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(dtos));
+        mockMvc.perform(request).andExpect(status().isOk()).andExpect(sqlStatementsAtMost(budget));
+    }
+
+    @Test
+    public void testUpdateBatch() throws Exception {
+        var nonExistentId = testUtils.getNonExistentId(repository, Task::getId);
+        var slug = testTask.getTaskStatus().getSlug();
+        var body = String.format("[{\"id\": %s, \"title\": \"Batch title\", \"status\": \"%s\"}, "
+                + "{\"id\": %s, \"title\": \"Other\", \"status\": \"%s\"}]",
+                testTask.getId(), slug, nonExistentId, slug);
+
+        var request = patch(basePath + "/batch").with(token).contentType(MediaType.APPLICATION_JSON).content(body);
+        var responseBody = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThatJson(responseBody).inPath("$[*].status").isArray().containsExactly(HttpStatus.OK.value(),
+                HttpStatus.NOT_FOUND.value());
+        assertEquals("Batch title", service.findById(testTask.getId()).getTitle());
+        // Поля, не переданные в элементе, не меняются
+        assertEquals(testLabel.getId(), service.findById(testTask.getId()).getTaskLabelIds().iterator().next());
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        var secondTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        secondTask.setTaskStatus(testTask.getTaskStatus());
+        repository.save(secondTask);
+
+        var ndjson = mockMvc.perform(get(basePath + "/export").with(token).param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        var lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertThatJson(lines[0]).inPath("$.id").isEqualTo(testTask.getId());
+        assertThatJson(lines[0]).inPath("$.taskLabelIds").isArray().containsExactly(testLabel.getId());
+
+        var csv = mockMvc.perform(get(basePath + "/export").with(token).param("format", "csv")
+                        .param("titleCont", secondTask.getName()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        var csvLines = csv.split("\n");
+        assertEquals("id,title,index,content,status,assignee_id,createdAt,taskLabelIds", csvLines[0]);
+        assertTrue(Arrays.stream(csvLines).skip(1).anyMatch(line -> line.startsWith(secondTask.getId() + ",")));
+
+        mockMvc.perform(get(basePath + "/export").with(token).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        var secondTask = Instancio.of(modelGenerator.getTaskModel()).create();
+        secondTask.setTaskStatus(testTask.getTaskStatus());
+        secondTask.setAssignee(testUser);
+        repository.save(secondTask);
+        var slug = testTask.getTaskStatus().getSlug();
+
+        var responseBody = mockMvc.perform(get(basePath + "/stats").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(responseBody).inPath("$.total").isEqualTo(2);
+        assertThatJson(responseBody).inPath("$.byStatus").isEqualTo(String.format("{\"%s\": 2}", slug));
+        assertThatJson(responseBody).inPath("$.byAssignee")
+                .isEqualTo(String.format("{\"none\": 1, \"%s\": 1}", testUser.getId()));
+        assertThatJson(responseBody).inPath("$.byLabel").isEqualTo(String.format("{\"%s\": 1}", testLabel.getId()));
+        assertThatJson(responseBody).inPath("$.byCreatedDate")
+                .isEqualTo(String.format("{\"%s\": 2}", LocalDate.now()));
+
+        var filtered = mockMvc.perform(get(basePath + "/stats").with(token)
+                        .param("assigneeId", String.valueOf(testUser.getId())).param("interval", "month"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(filtered).inPath("$.total").isEqualTo(1);
+        assertThatJson(filtered).inPath("$.byCreatedDate")
+                .isEqualTo(String.format("{\"%s\": 1}", YearMonth.now()));
+
+        mockMvc.perform(get(basePath + "/stats").with(token).param("interval", "year"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testCounters() throws Exception {
+        var dto = getTaskCreateDTO();
+        var createRequest = post(basePath).with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(dto));
+        var created = om.readValue(mockMvc.perform(createRequest).andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), TaskDTO.class);
+        var slug = testTask.getTaskStatus().getSlug();
+
+        var responseBody = mockMvc.perform(get(basePath + "/counters").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(responseBody).inPath("$.total").isEqualTo(2);
+        assertThatJson(responseBody).inPath("$.byStatus")
+                .isEqualTo(String.format("{\"%s\": 1, \"%s\": 1}", slug, dto.getStatus()));
+        assertThatJson(responseBody).inPath("$.byAssignee").isEqualTo(String.format("{\"%s\": 1}", testUser.getId()));
+        assertThatJson(responseBody).inPath("$.byLabel").isObject().hasSize(dto.getTaskLabelIds().size() + 1);
+
+        var body = String.format("{\"title\": \"Moved\", \"status\": \"%s\", \"taskLabelIds\": [%s]}",
+                slug, testLabel.getId());
+        mockMvc.perform(put(basePath + "/" + created.getId()).with(token).contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        var moved = mockMvc.perform(get(basePath + "/counters").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(moved).inPath("$.byStatus").isEqualTo(String.format("{\"%s\": 2}", slug));
+        assertThatJson(moved).inPath(String.format("$.byLabel.%s", testLabel.getId())).isEqualTo(2);
+
+        mockMvc.perform(delete(basePath + "/" + created.getId()).with(token)).andExpect(status().isNoContent());
+        var deleted = mockMvc.perform(get(basePath + "/counters").with(token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThatJson(deleted).inPath("$.total").isEqualTo(1);
+        assertThatJson(deleted).inPath("$.byAssignee").isObject().isEmpty();
+    }
+
+    @Test
+    public void testIndexTotalCountFromCounters() throws Exception {
+        var dto = getTaskCreateDTO();
+        mockMvc.perform(post(basePath).with(token).contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        var labelId = dto.getTaskLabelIds().iterator().next();
+
+        assertEquals("2", totalCount(Map.of()));
+        assertEquals("1", totalCount(Map.of("status", dto.getStatus())));
+        assertEquals("1", totalCount(Map.of("assigneeId", String.valueOf(testUser.getId()))));
+        assertEquals("1", totalCount(Map.of("labelId", String.valueOf(labelId))));
+        assertEquals("0", totalCount(Map.of("status", "unknown-status")));
+        // Сочетание фильтров считает COUNT по задачам
+        assertEquals("1", totalCount(Map.of("assigneeId", String.valueOf(testUser.getId()),
+                "labelId", String.valueOf(labelId))));
+    }
+
+    @Test
+    public void testCountersFollowRollback() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(transaction -> {
+            var task = Instancio.of(modelGenerator.getTaskModel()).create();
+            task.setTaskStatus(testTask.getTaskStatus());
+            task.setAssignee(testUser);
+            task.addLabel(testLabel);
+            repository.saveAndFlush(task);
+            transaction.setRollbackOnly();
+        });
+
+        assertEquals("1", totalCount(Map.of()));
+        assertEquals("0", totalCount(Map.of("assigneeId", String.valueOf(testUser.getId()))));
+        assertEquals("1", totalCount(Map.of("labelId", String.valueOf(testLabel.getId()))));
+    }
+
+    @Test
+    public void testImport() throws Exception {
+        var dtoFailture = getTaskCreateDTO();
+        dtoFailture.setStatus("unknown-status");
+        var dtos = List.of(getTaskCreateDTO(), dtoFailture, getTaskCreateDTO());
+        var ndjson = new StringBuilder();
+        for (var dto : dtos) {
+            ndjson.append(om.writeValueAsString(dto)).append('\n');
+        }
+        var imported = dtos.size() - 1;
+        var countBefore = repository.count();
+
+        var request = post(basePath + "/import").with(token).contentType("application/x-ndjson")
+                .content(ndjson.toString());
+        var lines = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertThatJson(lines[0]).inPath("$.type").isEqualTo("error");
+        assertThatJson(lines[0]).inPath("$.row").isEqualTo(2);
+        assertThatJson(lines[lines.length - 1]).isEqualTo("{\"type\":\"summary\",\"processed\":3,"
+                + "\"imported\":2,\"failed\":1}");
+        assertEquals(countBefore + imported, repository.count());
+
+        var slug = testTask.getTaskStatus().getSlug();
+        var csv = "title,status,content\n\"Imported, from csv\",\"" + slug + "\",\"two\nlines\"\n";
+        var csvLines = mockMvc.perform(post(basePath + "/import").with(token).param("format", "csv")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertThatJson(csvLines[csvLines.length - 1]).inPath("$.imported").isEqualTo(1);
+        assertEquals(countBefore + imported + 1, repository.count());
+    }
+
+    @Test
+    public void testImportKeepsRequestEntityManagerUntouched() throws Exception {
+        var ndjson = new StringBuilder();
+        for (var i = 0; i < importRowCount; i++) {
+            ndjson.append(om.writeValueAsString(getTaskCreateDTO())).append('\n');
+        }
+        var countBefore = repository.count();
+
+        // Тот же EntityManager, что open-in-view привязывает к запросу: порции работают в собственных
+        var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        var loaded = entityManager.find(Task.class, testTask.getId());
+        var entityCount = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        var batchSizeBefore = importProperties.getBatchSize();
+        importProperties.setBatchSize(importBatchSize);
+        try {
+            var request = post(basePath + "/import").with(token).contentType("application/x-ndjson")
+                    .content(ndjson.toString());
+            var lines = mockMvc.perform(request).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString().split("\n");
+
+            assertThatJson(lines[lines.length - 1]).inPath("$.imported").isEqualTo(importRowCount);
+            assertTrue(entityManager.contains(loaded));
+            assertEquals(entityCount, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            importProperties.setBatchSize(batchSizeBefore);
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(countBefore + importRowCount, repository.count());
+    }
+
+    @Test
+    public void testImportResolvesReferencesPerBatch() throws Exception {
+        var dtoFailture = getTaskCreateDTO();
+        dtoFailture.setTaskLabelIds(Set.of(testUtils.getNonExistentId(labelRepository, Label::getId)));
+        // Первая порция целиком из корректных строк, ошибочная строка - во второй
+        var dtos = List.of(getTaskCreateDTO(), getTaskCreateDTO(), dtoFailture);
+        var ndjson = new StringBuilder();
+        for (var dto : dtos) {
+            ndjson.append(om.writeValueAsString(dto)).append('\n');
+        }
+        var batchSizeBefore = importProperties.getBatchSize();
+        importProperties.setBatchSize(importBatchSize);
+        try {
+            var lines = mockMvc.perform(post(basePath + "/import").with(token).contentType("application/x-ndjson")
+                            .content(ndjson.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString().split("\n");
+
+            assertThatJson(lines[0]).inPath("$.type").isEqualTo("progress");
+            assertThatJson(lines[1]).inPath("$.row").isEqualTo(dtos.size());
+            assertThatJson(lines[lines.length - 1]).isEqualTo("{\"type\":\"summary\",\"processed\":3,"
+                    + "\"imported\":2,\"failed\":1}");
+        } finally {
+            importProperties.setBatchSize(batchSizeBefore);
+        }
+    }
+
+    private static String encodeCursor(final String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String totalCount(final Map<String, String> params) throws Exception {
+        var request = get(basePath).with(token);
+        params.forEach(request::queryParam);
+        return mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Total-Count");
+    }
+
     private TaskCreateDTO getTaskCreateDTO() {
         var task = Instancio.of(modelGenerator.getTaskModel()).create();
 
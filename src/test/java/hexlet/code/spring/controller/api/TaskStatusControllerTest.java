@@ -2,6 +2,8 @@ package hexlet.code.spring.controller.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.spring.component.ReferenceDataCache;
+import hexlet.code.spring.config.CacheConfig;
 import hexlet.code.spring.dto.taskstatus.TaskStatusDTO;
 import hexlet.code.spring.mapper.TaskStatusMainMapper;
 import hexlet.code.spring.model.Task;
@@ -12,14 +14,18 @@ import hexlet.code.spring.repository.TaskStatusRepository;
 import hexlet.code.spring.repository.UserRepository;
 import hexlet.code.spring.util.ModelGenerator;
 import hexlet.code.spring.util.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.NonNull;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.ActiveProfiles;
@@ -30,11 +36,13 @@ import org.springframework.web.context.WebApplicationContext;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -57,6 +65,10 @@ public class TaskStatusControllerTest {
     private final ModelGenerator modelGenerator;
     private final ObjectMapper om;
     private final TestUtils testUtils;
+    private final ReferenceDataCache referenceDataCache;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
 
     private SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor token;
 
@@ -73,7 +85,11 @@ public class TaskStatusControllerTest {
                                 @NonNull final UserRepository userRepositoryD,
                                 @NonNull final TaskStatusRepository taskStatusRepositoryD,
                                 @NonNull final ModelGenerator modelGeneratorD, @NonNull final ObjectMapper omD,
-                                @NonNull final TestUtils testUtilsD) {
+                                @NonNull final TestUtils testUtilsD,
+                                @NonNull final ReferenceDataCache referenceDataCacheD,
+                                @NonNull final CacheManager cacheManagerD,
+                                @NonNull final MeterRegistry meterRegistryD,
+                                @NonNull final EntityManagerFactory entityManagerFactoryD) {
         this.wac = wacD;
         this.mapper = mapperD;
         this.taskRepository = taskRepositoryD;
@@ -82,6 +98,10 @@ public class TaskStatusControllerTest {
         this.modelGenerator = modelGeneratorD;
         this.om = omD;
         this.testUtils = testUtilsD;
+        this.referenceDataCache = referenceDataCacheD;
+        this.cacheManager = cacheManagerD;
+        this.meterRegistry = meterRegistryD;
+        this.entityManagerFactory = entityManagerFactoryD;
     }
 
     @BeforeEach
@@ -269,4 +289,69 @@ public class TaskStatusControllerTest {
         var request2 = delete(basePath + "/" + taskStatus.getId()).with(jwt());
         mockMvc.perform(request2).andExpect(status().isMethodNotAllowed());
     }
+
+    @Test
+    public void testCacheHitSkipsQueryAndChangesEvict() throws Exception {
+        var data = Instancio.of(modelGenerator.getTaskStatusModel()).create();
+        repository.save(data);
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var cache = cacheManager.getCache(CacheConfig.TASK_STATUSES_BY_SLUG);
+
+        statistics.clear();
+        assertTrue(referenceDataCache.findTaskStatusBySlug(data.getSlug()).isPresent());
+        var statementsAfterMiss = statistics.getPrepareStatementCount();
+        assertTrue(referenceDataCache.findTaskStatusBySlug(data.getSlug()).isPresent());
+        assertEquals(statementsAfterMiss, statistics.getPrepareStatementCount());
+
+        var updateData = new TaskStatus();
+        updateData.setName("renamed");
+        mockMvc.perform(put(basePath + "/" + data.getId()).with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(updateData))).andExpect(status().isOk());
+        assertNull(cache.get(data.getSlug()));
+
+        referenceDataCache.findTaskStatusBySlug(data.getSlug());
+        var created = Instancio.of(modelGenerator.getTaskStatusModel()).create();
+        mockMvc.perform(post(basePath).with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(created))).andExpect(status().isCreated());
+        assertNull(cache.get(data.getSlug()));
+
+        referenceDataCache.findTaskStatusBySlug(data.getSlug());
+        mockMvc.perform(delete(basePath + "/" + data.getId()).with(token)).andExpect(status().isNoContent());
+        assertNull(cache.get(data.getSlug()));
+        assertTrue(referenceDataCache.findTaskStatusBySlug(data.getSlug()).isEmpty());
+
+        for (var result : List.of("hit", "miss")) {
+            var gets = meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASK_STATUSES_BY_SLUG)
+                    .tag("result", result).functionCounter();
+            Assertions.assertThat(gets.count()).as("cache.gets{result=%s}", result).isPositive();
+        }
+    }
+
+    @Test
+    public void testBatchLookupCachesIdsAndMisses() {
+        var data = Instancio.of(modelGenerator.getTaskStatusModel()).create();
+        repository.save(data);
+        var cache = cacheManager.getCache(CacheConfig.TASK_STATUSES_BY_SLUG);
+
+        var found = referenceDataCache.findTaskStatusesBySlugs(List.of(data.getSlug(), "missing-slug"));
+
+        assertEquals(Set.of(data.getSlug()), found.keySet());
+        assertEquals(data.getId(), cache.get(data.getSlug()).get());
+        // Отсутствующий slug кэшируется так же, как в findTaskStatusBySlug
+        assertNotNull(cache.get("missing-slug"));
+        assertNull(cache.get("missing-slug").get());
+    }
+
+    @Test
+    public void testCreateDuplicateSlugMissingFromCache() throws Exception {
+        var data = Instancio.of(modelGenerator.getTaskStatusModel()).create();
+        // Промах по slug до появления статуса и запись в обход сервиса: кэш о новом статусе не знает
+        referenceDataCache.findTaskStatusBySlug(data.getSlug());
+        repository.save(data);
+
+        var duplicate = Instancio.of(modelGenerator.getTaskStatusModel()).create();
+        duplicate.setSlug(data.getSlug());
+        mockMvc.perform(post(basePath).with(token).contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(duplicate))).andExpect(status().isBadRequest());
+    }
 }
@@ -29,11 +29,14 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -101,6 +104,39 @@ public final class UserControllerTest {
         mockMvc.perform(request).andExpect(status().isUnauthorized());
     }
 
+    @Test
+    public void testIndexCursorPages() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            repository.save(Instancio.of(modelGenerator.getUserModel()).create());
+        }
+
+        var firstPage = mockMvc.perform(get(basePath).with(token).queryParam("_sort", "email")
+                        .queryParam("_order", "DESC").queryParam("_limit", "2"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        var cursor = firstPage.getHeader("X-Next-Cursor");
+        assertNotNull(cursor);
+        assertEquals(String.valueOf(repository.count()), firstPage.getHeader("X-Total-Count"));
+
+        var secondPage = mockMvc.perform(get(basePath).with(token).queryParam("_sort", "email")
+                        .queryParam("_order", "DESC").queryParam("_limit", "2").queryParam("_after", cursor))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertNull(secondPage.getHeader("X-Total-Count"));
+        List<UserDTO> users = om.readValue(firstPage.getContentAsString(), new TypeReference<>() { });
+        List<UserDTO> rest = om.readValue(secondPage.getContentAsString(), new TypeReference<>() { });
+
+        var actual = new ArrayList<>(users.stream().map(UserDTO::getEmail).toList());
+        actual.addAll(rest.stream().map(UserDTO::getEmail).toList());
+        var expected = repository.findAll().stream().map(User::getEmail)
+                .sorted(Comparator.reverseOrder()).toList();
+        assertThat(actual).containsExactlyElementsOf(expected);
+
+        // Курсор, полученный для другой сортировки, не принимается
+        mockMvc.perform(get(basePath).with(token).queryParam("_sort", "id").queryParam("_after", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(basePath).with(token).queryParam("_limit", "ten"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testCreateSuccess() throws Exception {
         var data = Instancio.of(modelGenerator.getUserModel()).create();
@@ -0,0 +1,24 @@
+package hexlet.code.spring.util;
+
+import hexlet.code.spring.component.SqlBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверки количества SQL-операторов запроса по заголовку SqlBudgetFilter. MockMvc должен быть собран
+ * с этим фильтром (addFilters), в профиле test заголовки включены.
+ */
+public final class SqlStatementMatchers {
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher sqlStatementsAtMost(final int max) {
+        return result -> {
+            var header = result.getResponse().getHeader(SqlBudgetFilter.STATEMENTS_HEADER);
+            assertThat(header).as("Заголовок %s: подключен ли SqlBudgetFilter к MockMvc",
+                    SqlBudgetFilter.STATEMENTS_HEADER).isNotNull();
+            assertThat(Integer.parseInt(header)).as("SQL-операторов за запрос").isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -6,6 +6,7 @@ import hexlet.code.spring.repository.TaskStatusRepository;
 import hexlet.code.spring.repository.UserRepository;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
@@ -19,16 +20,19 @@ public final class TestUtils {
     private final TaskStatusRepository taskStatusRepository;
     private final TaskRepository taskRepository;
     private final LabelRepository labelRepository;
+    private final CacheManager cacheManager;
 
     @Autowired
     public TestUtils(@NonNull final UserRepository userRepositoryD,
                     @NonNull final TaskStatusRepository taskStatusRepositoryD,
                     @NonNull final TaskRepository taskRepositoryD,
-                    @NonNull final LabelRepository labelRepositoryD) {
+                    @NonNull final LabelRepository labelRepositoryD,
+                    @NonNull final CacheManager cacheManagerD) {
         this.userRepository = userRepositoryD;
         this.taskStatusRepository = taskStatusRepositoryD;
         this.taskRepository = taskRepositoryD;
         this.labelRepository = labelRepositoryD;
+        this.cacheManager = cacheManagerD;
     }
 
     public <T> Long getNonExistentId(final JpaRepository<T, Long> repository,
@@ -41,5 +45,6 @@ public final class TestUtils {
         labelRepository.deleteAll();
         taskStatusRepository.deleteAll();
         userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 }